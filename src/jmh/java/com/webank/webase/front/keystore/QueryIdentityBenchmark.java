@@ -0,0 +1,110 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.keystore;
+
+import com.webank.webase.front.keystore.entity.KeyStoreInfo;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.web3j.crypto.Credentials;
+import org.fisco.bcos.web3j.crypto.ECKeyPair;
+import org.fisco.bcos.web3j.crypto.EncryptType;
+import org.fisco.bcos.web3j.crypto.Keys;
+import org.fisco.bcos.web3j.crypto.gm.GenCredential;
+import org.fisco.bcos.web3j.precompile.crud.CRUDService;
+import org.fisco.bcos.web3j.protocol.Web3j;
+import org.fisco.bcos.web3j.protocol.channel.ChannelEthereumService;
+import org.fisco.bcos.web3j.utils.Numeric;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * cost of query account and precompiled client per query:
+ * generate key pair and build client on each call (before) vs pick from pool (after)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryIdentityBenchmark {
+
+    private static final int GROUP_ID = 1;
+
+    /**
+     * 0: ecdsa, 1: guomi
+     */
+    @Param({"0", "1"})
+    public int encryptType;
+
+    private Web3j web3j;
+    private QueryIdentityPool pool;
+    private Map<Integer, CRUDService> crudServiceMap;
+
+    @Setup
+    public void setup() {
+        EncryptType.setEncryptType(encryptType);
+        // web3j without connection, only used to build client
+        web3j = Web3j.build(new ChannelEthereumService(), GROUP_ID);
+        pool = new QueryIdentityPool(8, QueryIdentityBenchmark::generateKeyStoreInfo);
+        crudServiceMap = new ConcurrentHashMap<>();
+    }
+
+    @Benchmark
+    public Credentials credentialsGenerated() {
+        return GenCredential.create(generateKeyStoreInfo().getPrivateKey());
+    }
+
+    @Benchmark
+    public Credentials credentialsPooled() {
+        return pool.nextCredentials();
+    }
+
+    @Benchmark
+    public CRUDService crudServiceGenerated() {
+        return new CRUDService(web3j, credentialsGenerated());
+    }
+
+    @Benchmark
+    public CRUDService crudServicePooled() {
+        return crudServiceMap.computeIfAbsent(GROUP_ID,
+            k -> new CRUDService(web3j, pool.nextCredentials()));
+    }
+
+    /**
+     * same as KeyStoreService's random account for query
+     */
+    private static KeyStoreInfo generateKeyStoreInfo() {
+        ECKeyPair keyPair = GenCredential.createKeyPair();
+        KeyStoreInfo keyStoreInfo = new KeyStoreInfo();
+        keyStoreInfo.setPublicKey(Numeric.toHexStringWithPrefixZeroPadded(keyPair.getPublicKey(),
+            KeyStoreService.PUBLIC_KEY_LENGTH_IN_HEX));
+        keyStoreInfo.setAddress("0x" + Keys.getAddress(keyPair.getPublicKey()));
+        keyStoreInfo.setPrivateKey(Numeric.toHexStringNoPrefix(keyPair.getPrivateKey()));
+        keyStoreInfo.setUserName("");
+        return keyStoreInfo;
+    }
+}
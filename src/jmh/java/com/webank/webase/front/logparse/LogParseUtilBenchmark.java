@@ -0,0 +1,56 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.logparse;
+
+import com.webank.webase.front.logparse.entity.LogData;
+import com.webank.webase.front.logparse.util.LogParseUtil;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * parse of one line of node's stat log
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogParseUtilBenchmark {
+
+    private static final String NETWORK_LOG =
+        "info|2020-06-26 16:37:08.253562|Total|g=1,Total_In=3440,Total_Out=2176";
+    private static final String GAS_LOG =
+        "info|2020-06-26 16:37:08.253562|TxsGasUsed|g=1,txHash=0x9fa4ad6b,gasUsed=21000";
+
+    @Benchmark
+    public LogData getLogDataNetwork() {
+        return LogParseUtil.getLogData(NETWORK_LOG);
+    }
+
+    @Benchmark
+    public LogData getLogDataGas() {
+        return LogParseUtil.getLogData(GAS_LOG);
+    }
+}
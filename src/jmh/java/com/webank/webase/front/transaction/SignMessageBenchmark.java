@@ -0,0 +1,125 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.transaction;
+
+import com.webank.webase.front.base.properties.Constants;
+import com.webank.webase.front.util.CommonUtils;
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.web3j.crypto.Credentials;
+import org.fisco.bcos.web3j.crypto.EncryptType;
+import org.fisco.bcos.web3j.crypto.ExtendedRawTransaction;
+import org.fisco.bcos.web3j.crypto.ExtendedTransactionEncoder;
+import org.fisco.bcos.web3j.crypto.RawTransaction;
+import org.fisco.bcos.web3j.crypto.Sign;
+import org.fisco.bcos.web3j.crypto.Sign.SignatureData;
+import org.fisco.bcos.web3j.crypto.TransactionEncoder;
+import org.fisco.bcos.web3j.crypto.gm.GenCredential;
+import org.fisco.bcos.web3j.utils.Numeric;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * encoding of TransService.signMessage without the request to webase-sign:
+ * encode raw transaction, then encode with sign data string returned by webase-sign.
+ * signing locally is measured separately
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignMessageBenchmark {
+
+    private static final String CONTRACT_ADDRESS = "0x1d2c8d3f3a4f0e5a1c2b3a4d5e6f708192a3b4c5";
+    private static final String DATA = "0x4ed3885e"
+        + "0000000000000000000000000000000000000000000000000000000000000020"
+        + "0000000000000000000000000000000000000000000000000000000000000005"
+        + "68656c6c6f000000000000000000000000000000000000000000000000000000";
+    private static final BigInteger BLOCK_LIMIT = BigInteger.valueOf(1500);
+    private static final BigInteger CHAIN_ID = BigInteger.ONE;
+    private static final BigInteger GROUP_ID = BigInteger.ONE;
+
+    /**
+     * 0: ecdsa, 1: guomi
+     */
+    @Param({"0", "1"})
+    public int encryptType;
+
+    private final Random random = new Random();
+    private Credentials credentials;
+    private String rawSignDataStr;
+    private String extendedSignDataStr;
+
+    @Setup
+    public void setup() {
+        EncryptType.setEncryptType(encryptType);
+        credentials = GenCredential.create();
+        rawSignDataStr = CommonUtils.signatureDataToString(
+            sign(TransactionEncoder.encode(newRawTransaction())));
+        extendedSignDataStr = CommonUtils.signatureDataToString(
+            sign(ExtendedTransactionEncoder.encode(newExtendedRawTransaction())));
+    }
+
+    @Benchmark
+    public String rawTransactionEncode() {
+        RawTransaction rawTransaction = newRawTransaction();
+        String encodedDataStr = Numeric.toHexString(TransactionEncoder.encode(rawTransaction));
+        SignatureData signData = CommonUtils.stringToSignatureData(rawSignDataStr);
+        return encodedDataStr + Numeric.toHexString(TransactionEncoder.encode(rawTransaction, signData));
+    }
+
+    @Benchmark
+    public String extendedRawTransactionEncode() {
+        ExtendedRawTransaction rawTransaction = newExtendedRawTransaction();
+        String encodedDataStr =
+            Numeric.toHexString(ExtendedTransactionEncoder.encode(rawTransaction));
+        SignatureData signData = CommonUtils.stringToSignatureData(extendedSignDataStr);
+        return encodedDataStr
+            + Numeric.toHexString(ExtendedTransactionEncoder.encode(rawTransaction, signData));
+    }
+
+    @Benchmark
+    public byte[] extendedRawTransactionSignLocally() {
+        return ExtendedTransactionEncoder.signMessage(newExtendedRawTransaction(), credentials);
+    }
+
+    private RawTransaction newRawTransaction() {
+        return RawTransaction.createTransaction(new BigInteger(250, random), Constants.GAS_PRICE,
+            Constants.GAS_LIMIT, BLOCK_LIMIT, CONTRACT_ADDRESS, BigInteger.ZERO, DATA);
+    }
+
+    private ExtendedRawTransaction newExtendedRawTransaction() {
+        return ExtendedRawTransaction.createTransaction(new BigInteger(250, random),
+            Constants.GAS_PRICE, Constants.GAS_LIMIT, BLOCK_LIMIT, CONTRACT_ADDRESS,
+            BigInteger.ZERO, DATA, CHAIN_ID, GROUP_ID, "");
+    }
+
+    private SignatureData sign(byte[] encoded) {
+        return Sign.getSignInterface().signMessage(encoded, credentials.getEcKeyPair());
+    }
+}
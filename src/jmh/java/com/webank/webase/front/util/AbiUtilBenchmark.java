@@ -0,0 +1,80 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.web3j.abi.FunctionEncoder;
+import org.fisco.bcos.web3j.abi.FunctionReturnDecoder;
+import org.fisco.bcos.web3j.abi.TypeReference;
+import org.fisco.bcos.web3j.abi.datatypes.Function;
+import org.fisco.bcos.web3j.abi.datatypes.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * abi input/output format and call result parse of a typical function
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AbiUtilBenchmark {
+
+    private List<String> types;
+    private List<Object> params;
+    private List<Type> typeList;
+
+    @Setup
+    public void setup() {
+        types = Arrays.asList("uint256", "string", "address[]", "bool", "bytes32");
+        params = Arrays.asList(100, "hello",
+            Arrays.asList("0x1d2c8d3f3a4f0e5a1c2b3a4d5e6f708192a3b4c5",
+                "0x0000000000000000000000000000000000000001"),
+            true, "0x0102030405060708091011121314151617181920212223242526272829303132");
+        List<Type> inputs = AbiUtil.inputFormat(types, params);
+        List<TypeReference<?>> outputs = AbiUtil.outputFormat(types);
+        Function function = new Function("get", inputs, outputs);
+        typeList = FunctionReturnDecoder.decode(FunctionEncoder.encodeConstructor(inputs),
+            function.getOutputParameters());
+    }
+
+    @Benchmark
+    public List<Type> inputFormat() {
+        return AbiUtil.inputFormat(types, params);
+    }
+
+    @Benchmark
+    public List<TypeReference<?>> outputFormat() {
+        return AbiUtil.outputFormat(types);
+    }
+
+    @Benchmark
+    public Object callResultParse() {
+        return AbiUtil.callResultParse(types, typeList);
+    }
+}
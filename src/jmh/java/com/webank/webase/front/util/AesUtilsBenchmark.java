@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * aes encrypt and decrypt of private key stored in db
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AesUtilsBenchmark {
+
+    private static final String AES_KEY = "EfdsW23D23d3df43";
+    private static final String PRIVATE_KEY =
+        "b83261efa42895c38c6c2364ca878f43e77f3cddbc922bf57d0d48070f79feb6";
+
+    private AesUtils aesUtils;
+    private String encrypted;
+
+    @Setup
+    public void setup() {
+        aesUtils = new AesUtils();
+        encrypted = aesUtils.aesEncrypt(PRIVATE_KEY, AES_KEY, null);
+    }
+
+    @Benchmark
+    public String aesEncrypt() {
+        return aesUtils.aesEncrypt(PRIVATE_KEY, AES_KEY, null);
+    }
+
+    @Benchmark
+    public String aesDecrypt() {
+        return aesUtils.aesDecrypt(encrypted, AES_KEY, null);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.util;
+
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.web3j.abi.datatypes.Address;
+import org.fisco.bcos.web3j.abi.datatypes.Utf8String;
+import org.fisco.bcos.web3j.abi.datatypes.generated.Bytes32;
+import org.fisco.bcos.web3j.abi.datatypes.generated.Uint256;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * parse of single param by solidity type name and by type class
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContractTypeUtilBenchmark {
+
+    private static final String ADDRESS = "0x1d2c8d3f3a4f0e5a1c2b3a4d5e6f708192a3b4c5";
+    private static final String BYTES32 =
+        "0x0102030405060708091011121314151617181920212223242526272829303132";
+
+    @Benchmark
+    public void parseByType(Blackhole blackhole) {
+        blackhole.consume(ContractTypeUtil.parseByType("uint256", "100"));
+        blackhole.consume(ContractTypeUtil.parseByType("int32", "-100"));
+        blackhole.consume(ContractTypeUtil.parseByType("bool", "true"));
+        blackhole.consume(ContractTypeUtil.parseByType("address", ADDRESS));
+        blackhole.consume(ContractTypeUtil.parseByType("string", "hello"));
+    }
+
+    @Benchmark
+    public void generateClassFromInput(Blackhole blackhole) {
+        blackhole.consume(ContractTypeUtil.generateClassFromInput("100", Uint256.class));
+        blackhole.consume(ContractTypeUtil.generateClassFromInput(ADDRESS, Address.class));
+        blackhole.consume(ContractTypeUtil.generateClassFromInput("hello", Utf8String.class));
+        blackhole.consume(ContractTypeUtil.generateClassFromInput(BYTES32, Bytes32.class));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.util;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.fisco.bcos.web3j.utils.Numeric;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * json round trip of transaction receipt, as in response and receipt store
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonUtilsBenchmark {
+
+    private TransactionReceipt receipt;
+    private String receiptJson;
+
+    @Setup
+    public void setup() {
+        receipt = new TransactionReceipt();
+        receipt.setTransactionHash(
+            "0x9fa4ad6bbb7c7b8ec2ee9e5e4a0ab6e8e8e7e5d6c4e9a2b1c0d9e8f7a6b5c4d3");
+        receipt.setTransactionIndex("0x0");
+        receipt.setBlockHash("0x1fa4ad6bbb7c7b8ec2ee9e5e4a0ab6e8e8e7e5d6c4e9a2b1c0d9e8f7a6b5c4d3");
+        receipt.setBlockNumber(Numeric.encodeQuantity(BigInteger.valueOf(1000)));
+        receipt.setGasUsed("0x5208");
+        receipt.setFrom("0x1d2c8d3f3a4f0e5a1c2b3a4d5e6f708192a3b4c5");
+        receipt.setTo("0x0000000000000000000000000000000000000001");
+        receipt.setStatus("0x0");
+        receipt.setInput("0x4ed3885e0000000000000000000000000000000000000000000000000000000000000020");
+        receipt.setOutput("0x");
+        receiptJson = JsonUtils.toJSONString(receipt);
+        if (receiptJson == null) {
+            throw new IllegalStateException("receipt to json fail");
+        }
+    }
+
+    @Benchmark
+    public String toJSONString() {
+        return JsonUtils.toJSONString(receipt);
+    }
+
+    @Benchmark
+    public TransactionReceipt toJavaObject() {
+        return JsonUtils.toJavaObject(receiptJson, TransactionReceipt.class);
+    }
+
+    @Benchmark
+    public Map<String, Object> roundTripToMap() {
+        return JsonUtils.toMap(JsonUtils.toJSONString(receipt));
+    }
+}
@@ -85,9 +85,27 @@ public class ConstantCode {
     // tx channel
     public static final RetCode ENCODE_STR_CANNOT_BE_NULL = RetCode.mark(201045, "encode string can not be empty!");
     public static final RetCode TRANSACTION_FAILED = RetCode.mark(201046, "transaction failed!");
+    public static final RetCode ASYNC_REQUEST_TIMEOUT = RetCode.mark(201047, "async request timeout, please check the result later");
+    public static final String PARAM_FAIL_TRANS_LIST_IS_EMPTY = "{\"code\":201048,\"message\":\"transaction list cannot be empty\"}";
+    public static final RetCode BATCH_TRANS_SIZE_EXCEED = RetCode.mark(201049, "transaction list size exceeds batchTransMaxSize");
 
     public static final RetCode FAIL_PARSE_JSON = RetCode.mark(201050, "Fail to parse json");
     public static final RetCode GET_CONSENSUS_STATUS_FAIL = RetCode.mark(201051, "get consensus status fail");
+    public static final RetCode TRANS_OVERLOADED = RetCode.mark(201052, "too many transactions in process, please try again later");
+    public static final RetCode STRESS_DISABLED = RetCode.mark(201053, "stress test is disabled, set constant.stressEnabled to enable");
+    public static final RetCode STRESS_TASK_RUNNING = RetCode.mark(201054, "another stress test is running");
+    public static final RetCode STRESS_PARAM_ERROR = RetCode.mark(201055, "stress param error, qps and total should be positive and users cannot be empty");
+    public static final RetCode MULTI_CALL_SIZE_EXCEED = RetCode.mark(201056, "call list size exceeds multiCallMaxSize");
+    public static final RetCode MULTI_CALL_NOT_CONSTANT = RetCode.mark(201057, "function is not constant, only constant function is supported in multiCall");
+    public static final RetCode BLOCK_RANGE_ERROR = RetCode.mark(201058, "block range error, from should not be greater than to, and to should not be greater than latest");
+    public static final RetCode BLOCK_RANGE_SIZE_EXCEED = RetCode.mark(201059, "block range size exceeds blockStreamMaxSize");
+    public static final RetCode BLOCK_STREAM_BUSY = RetCode.mark(201060, "too many block streams in process, please try again later");
+    public static final RetCode TX_INDEX_DISABLED = RetCode.mark(201061, "transaction index is disabled, set constant.txIndexEnabled to true");
+    public static final RetCode EXPORT_BUSY = RetCode.mark(201062, "too many export tasks in process, please try again later");
+    public static final RetCode EXPORT_TASK_RUNNING = RetCode.mark(201063, "export task of the same range is running");
+    public static final RetCode EXPORT_TASK_NOT_EXISTS = RetCode.mark(201064, "export task not exists");
+    public static final RetCode STRESS_CONCURRENCY_EXCEED = RetCode.mark(201065, "stress concurrency exceeds stressMaxConcurrency");
+    public static final RetCode RECEIPT_QUERY_SIZE_EXCEED = RetCode.mark(201066, "hash list size of receipt query should be between 1 and receiptQueryMaxSize");
 
     /* system error */
     public static final RetCode SYSTEM_ERROR = RetCode.mark(101001, "system error");
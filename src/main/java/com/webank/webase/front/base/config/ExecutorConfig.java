@@ -0,0 +1,141 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.base.config;
+
+import com.webank.webase.front.base.properties.Constants;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * thread pools and timers used by async interfaces
+ */
+@Slf4j
+@Configuration
+public class ExecutorConfig {
+
+    private static final long TIMER_TICK_MILLIS = 100L;
+
+    @Autowired
+    private Constants constants;
+
+    /**
+     * scheduler of @Scheduled jobs, instead of the default single thread
+     * which is blocked by any slow job
+     */
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler() {
+        log.info("*****init taskScheduler threads:{}", constants.getSchedulerThreads());
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(constants.getSchedulerThreads());
+        scheduler.setThreadNamePrefix("scheduler-");
+        scheduler.setDaemon(true);
+        return scheduler;
+    }
+
+    /**
+     * shared timer wheel to time out pending transactions
+     * instead of parking a thread on each receipt
+     */
+    @Bean(name = "transTimer", destroyMethod = "stop")
+    public HashedWheelTimer transTimer() {
+        log.info("*****init transTimer tick:{}ms", TIMER_TICK_MILLIS);
+        return new HashedWheelTimer(new DefaultThreadFactory("transTimer", true),
+            TIMER_TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * pool to encode and sign transactions of batch request.
+     * caller runs when queue is full, which slows down the submitter
+     */
+    @Bean(name = "batchTransExecutor", destroyMethod = "shutdown")
+    public ExecutorService batchTransExecutor() {
+        log.info("*****init batchTransExecutor threads:{} queue:{}",
+            constants.getBatchTransThreads(), constants.getBatchTransQueueSize());
+        return new ThreadPoolExecutor(constants.getBatchTransThreads(),
+            constants.getBatchTransThreads(), 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(constants.getBatchTransQueueSize()),
+            new DefaultThreadFactory("batchTrans", true), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * pool of hedged and batch requests to webase-sign
+     */
+    @Bean(name = "signExecutor", destroyMethod = "shutdown")
+    public ExecutorService signExecutor() {
+        log.info("*****init signExecutor threads:{} queue:{}",
+            constants.getSignThreads(), constants.getSignQueueSize());
+        return new ThreadPoolExecutor(constants.getSignThreads(),
+            constants.getSignThreads(), 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(constants.getSignQueueSize()),
+            new DefaultThreadFactory("signClient", true), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * pool of blocking queries to node, such as node status
+     */
+    @Bean(name = "nodeQueryExecutor", destroyMethod = "shutdown")
+    public ExecutorService nodeQueryExecutor() {
+        log.info("*****init nodeQueryExecutor threads:{} queue:{}",
+            constants.getNodeQueryThreads(), constants.getNodeQueryQueueSize());
+        return new ThreadPoolExecutor(constants.getNodeQueryThreads(),
+            constants.getNodeQueryThreads(), 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(constants.getNodeQueryQueueSize()),
+            new DefaultThreadFactory("nodeQuery", true), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * one thread per block stream, rejected when all threads are busy
+     */
+    @Bean(name = "blockStreamExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService blockStreamExecutor() {
+        log.info("*****init blockStreamExecutor threads:{}", constants.getBlockStreamThreads());
+        return new ThreadPoolExecutor(constants.getBlockStreamThreads(),
+            constants.getBlockStreamThreads(), 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+            new DefaultThreadFactory("blockStream", true), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * one thread per export task, rejected when all threads are busy
+     */
+    @Bean(name = "exportExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService exportExecutor() {
+        log.info("*****init exportExecutor threads:{}", constants.getExportThreads());
+        return new ThreadPoolExecutor(constants.getExportThreads(),
+            constants.getExportThreads(), 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+            new DefaultThreadFactory("export", true), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * pool of transaction index, at most one task of each group is queued
+     */
+    @Bean(name = "txIndexExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService txIndexExecutor() {
+        log.info("*****init txIndexExecutor threads:{}", constants.getTxIndexThreads());
+        return new ThreadPoolExecutor(constants.getTxIndexThreads(),
+            constants.getTxIndexThreads(), 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            new DefaultThreadFactory("txIndex", true));
+    }
+}
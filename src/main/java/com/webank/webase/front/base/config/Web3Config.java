@@ -16,7 +16,9 @@ package com.webank.webase.front.base.config;
 
 import com.webank.webase.front.base.properties.Constants;
 import com.webank.webase.front.event.callback.NewBlockEventCallback;
+import com.webank.webase.front.web3api.NodeRouter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -55,6 +57,15 @@ public class Web3Config {
     private int keepAlive;
     private String ip = "127.0.0.1";
     private String channelPort = "20200";
+    /**
+     * ip:port of nodes, default is ip:channelPort.
+     * read is routed to node of least latency, transaction to the first available node
+     */
+    private List<String> nodeList = new ArrayList<>();
+    /**
+     * nodes of specific group, instead of nodeList
+     */
+    private Map<Integer, List<String>> groupNodeList = new HashMap<>();
     private int encryptType;
 
     private int independentGroupId = Integer.MAX_VALUE;
@@ -86,22 +97,61 @@ public class Web3Config {
      * @return
      */
     private GroupChannelConnectionsConfig getGroupChannelConnectionsConfig() {
-        List<ChannelConnections> channelConnectionsList = new ArrayList<>();
-
-        List<String> connectionsList = new ArrayList<>();
-        connectionsList.add(ip + ":" + channelPort);
-        log.info("*****" + ip + ":" + channelPort);
-        ChannelConnections channelConnections = new ChannelConnections();
-        channelConnections.setConnectionsStr(connectionsList);
-        channelConnections.setGroupId(independentGroupId);
-        channelConnectionsList.add(channelConnections);
+        log.info("*****" + getNodeList(independentGroupId));
+        return newGroupChannelConnectionsConfig(independentGroupId,
+            getNodeList(independentGroupId));
+    }
 
+    /**
+     * get a new config instance of one group
+     * @return
+     */
+    private GroupChannelConnectionsConfig newGroupChannelConnectionsConfig(int groupId,
+        List<String> connectionsList) {
+        List<ChannelConnections> channelConnectionsList = new ArrayList<>();
+        channelConnectionsList.add(newChannelConnections(groupId, connectionsList));
         GroupChannelConnectionsConfig groupChannelConnectionsConfig =
             new GroupChannelConnectionsConfig();
         groupChannelConnectionsConfig.setAllChannelConnections(channelConnectionsList);
         return groupChannelConnectionsConfig;
     }
 
+    private static ChannelConnections newChannelConnections(int groupId,
+        List<String> connectionsList) {
+        ChannelConnections channelConnections = new ChannelConnections();
+        channelConnections.setConnectionsStr(new ArrayList<>(connectionsList));
+        channelConnections.setGroupId(groupId);
+        return channelConnections;
+    }
+
+    /**
+     * nodes of group, groupNodeList first, then nodeList, then ip:channelPort
+     */
+    public List<String> getNodeList(int groupId) {
+        List<String> groupNodes = groupNodeList.get(groupId);
+        if (groupNodes != null && !groupNodes.isEmpty()) {
+            return groupNodes;
+        }
+        if (!nodeList.isEmpty()) {
+            return nodeList;
+        }
+        List<String> defaultNodes = new ArrayList<>();
+        defaultNodes.add(ip + ":" + channelPort);
+        return defaultNodes;
+    }
+
+    /**
+     * new channel service of group connected to nodes, not run yet
+     */
+    public Service newChannelService(int groupId, List<String> connectionsList) {
+        Service service = new Service();
+        service.setOrgID(orgName);
+        service.setGroupId(groupId);
+        service.setThreadPool(sdkThreadPool());
+        service.setAllChannelConnections(newGroupChannelConnectionsConfig(groupId, connectionsList));
+        return service;
+    }
+
     /**
      * init Web3j of default group id 1
      */
@@ -158,13 +208,9 @@ public class Web3Config {
         List<ChannelConnections> channelConnectionsList  = groupChannelConnectionsConfig.getAllChannelConnections();
         channelConnectionsList.clear();
         for (int i = 0; i < groupIdList.size(); i++) {
-            List<String> connectionsList = new ArrayList<>();
-            connectionsList.add(ip + ":" + channelPort);
-            ChannelConnections channelConnections = new ChannelConnections();
-            channelConnections.setConnectionsStr(connectionsList);
-            channelConnections.setGroupId(Integer.parseInt(groupIdList.get(i)));
-            log.info("***** groupId:{}", groupIdList.get(i));
-            channelConnectionsList.add(channelConnections);
+            int groupId = Integer.parseInt(groupIdList.get(i));
+            log.info("***** groupId:{} nodes:{}", groupId, getNodeList(groupId));
+            channelConnectionsList.add(newChannelConnections(groupId, getNodeList(groupId)));
         }
         Map serviceMap = new ConcurrentHashMap<Integer, Service>(groupIdList.size());
         for (int i = 0; i < groupIdList.size(); i++) {
@@ -185,17 +231,17 @@ public class Web3Config {
      * init Web3j
      * 
      * @param serviceMap
+     * @param nodeRouter
      * @return
      */
     @Bean
     @DependsOn("encryptType")
-    public Map<Integer, Web3j> web3jMap(Map<Integer, Service> serviceMap) {
+    public Map<Integer, Web3j> web3jMap(Map<Integer, Service> serviceMap, NodeRouter nodeRouter) {
         Map web3jMap = new ConcurrentHashMap<Integer, Web3j>(serviceMap.size());
         for (Integer i : serviceMap.keySet()) {
             Service service = serviceMap.get(i);
-            ChannelEthereumService channelEthereumService = new ChannelEthereumService();
-            channelEthereumService.setTimeout(timeout);
-            channelEthereumService.setChannelService(service);
+            // routed to nodes of group if more than one
+            ChannelEthereumService channelEthereumService = nodeRouter.newEthereumService(service);
             Web3j web3jSync = Web3j.build(channelEthereumService, service.getGroupId());
             // for getClockNumber local
             web3jSync.getBlockNumberCache();
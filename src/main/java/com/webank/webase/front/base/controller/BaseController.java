@@ -22,10 +22,14 @@ import com.webank.webase.front.base.response.BaseResponse;
 import com.webank.webase.front.base.exception.FrontException;
 import com.webank.webase.front.util.JsonUtils;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.ObjectError;
+import org.springframework.web.context.request.async.DeferredResult;
 
 /**
  * BaseController.
@@ -60,6 +64,32 @@ public abstract class BaseController {
         throw new FrontException(retCode);
     }
 
+    /**
+     * bind future to DeferredResult, release servlet thread while waiting.
+     * exception of future is handled by ExceptionsHandler
+     *
+     * @param future future of result
+     * @param timeoutMillis timeout of async request
+     */
+    protected <T> DeferredResult<T> toDeferredResult(CompletableFuture<? extends T> future,
+            long timeoutMillis) {
+        DeferredResult<T> deferredResult = new DeferredResult<>(timeoutMillis,
+                new FrontException(ConstantCode.ASYNC_REQUEST_TIMEOUT));
+        future.whenComplete((data, ex) -> {
+            if (ex == null) {
+                deferredResult.setResult(data);
+                return;
+            }
+            Throwable cause = ex;
+            while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                    && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            deferredResult.setErrorResult(cause);
+        });
+        return deferredResult;
+    }
+
     private String getParamValidFaildMessage(BindingResult bindingResult) {
         List<ObjectError> errorList = bindingResult.getAllErrors();
         log.info("errorList:{}", JsonUtils.toJSONString(errorList));
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.base.enums;
+
+/**
+ * Enumeration of transaction interfaces recorded in latency metrics.
+ */
+public enum TransEndpoint {
+
+    /**
+     * /trans/handleWithSign
+     */
+    HANDLE_WITH_SIGN,
+    /**
+     * /trans/batchHandleWithSign
+     */
+    BATCH_HANDLE_WITH_SIGN,
+    /**
+     * /trans/handle, signed by local user
+     */
+    HANDLE,
+    /**
+     * /trans/signed-transaction
+     */
+    SIGNED_TRANSACTION,
+    /**
+     * /contract/deployWithSign
+     */
+    DEPLOY_WITH_SIGN,
+    /**
+     * precompiled interfaces with sign
+     */
+    PRECOMPILED,
+    /**
+     * /trans/multiCall, constant calls only
+     */
+    MULTI_CALL,
+    /**
+     * /performance/stress, transactions sent by stress test
+     */
+    STRESS;
+}
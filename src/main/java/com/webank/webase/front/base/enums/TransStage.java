@@ -0,0 +1,47 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.base.enums;
+
+/**
+ * Enumeration of transaction stage recorded in latency metrics.
+ */
+public enum TransStage {
+
+    /**
+     * check params and build function from abi
+     */
+    ABI_BUILD,
+    /**
+     * encode function or constructor
+     */
+    ENCODE,
+    /**
+     * sign by WeBASE-Sign
+     */
+    SIGN,
+    /**
+     * constant call of node
+     */
+    CALL,
+    /**
+     * submit to node until receipt returned, include local sign of /trans/handle
+     */
+    NODE,
+    /**
+     * decode output of constant call
+     */
+    DECODE;
+}
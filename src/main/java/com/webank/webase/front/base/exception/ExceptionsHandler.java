@@ -60,6 +60,7 @@ import com.webank.webase.front.util.JsonUtils;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.webank.webase.front.base.code.ConstantCode;
 import com.webank.webase.front.base.code.RetCode;
 import com.webank.webase.front.util.ErrorCodeHandleUtils;
 import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
@@ -100,6 +101,12 @@ public class ExceptionsHandler {
         map.put("data", frontException.getDetail());
         map.put("errorMessage", frontException.getMessage());
         map.put("code", frontException.getRetCode().getCode());
+        // overloaded, client should retry later
+        if (ConstantCode.TRANS_OVERLOADED.getCode().equals(frontException.getRetCode().getCode())
+                || ConstantCode.BLOCK_STREAM_BUSY.getCode().equals(frontException.getRetCode().getCode())
+                || ConstantCode.EXPORT_BUSY.getCode().equals(frontException.getRetCode().getCode())) {
+            return ResponseEntity.status(429).body(map);
+        }
         return ResponseEntity.status(422).body(map);
     }
 
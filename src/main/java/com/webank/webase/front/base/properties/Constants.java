@@ -14,6 +14,8 @@
 package com.webank.webase.front.base.properties;
 
 import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
@@ -52,6 +54,7 @@ public class Constants {
     public static final String MGR_PRIVATE_KEY_URI =
             "http://%s/WeBASE-Node-Manager/user/privateKey/%s";
     public static final String WEBASE_SIGN_URI = "http://%s/WeBASE-Sign/sign";
+    public static final String WEBASE_SIGN_BATCH_URI = "http://%s/WeBASE-Sign/sign/batch";
     public static final String WEBASE_SIGN_USER_URI =
             "http://%s/WeBASE-Sign/user/newUser?encryptType=%s&signUserId=%s&appId=%s";
     public static final String WEBASE_SIGN_VERSION_URI =
@@ -62,6 +65,7 @@ public class Constants {
     public static final String OPERATE_GROUP_REMOVE = "remove";
     public static final String OPERATE_GROUP_RECOVER = "recover";
     public static final String OPERATE_GROUP_GET_STATUS = "getStatus";
+    public static final String GROUP_STATUS_UNKNOWN = "UNKNOWN";
     public static final String CONSTANT_PREFIX = "constant";
     public static final String SOLC_DIR_PATH_CONFIG = "solcjs";
     public static final String SOLC_DIR_PATH = "./conf/solcjs";
@@ -91,4 +95,122 @@ public class Constants {
     // second
     private Integer eventCallbackWait = 10;
 
+    // batch transaction
+    private int batchTransMaxSize = 1000;
+    private int batchTransThreads = 16;
+    private int batchTransQueueSize = 10000;
+    // second
+    private int batchTransMaxWait = 120;
+
+    // multi constant call, run in batchTransExecutor
+    private int multiCallMaxSize = 200;
+    // times to call again if block height changed during calls
+    private int multiCallRetries = 2;
+
+    // max size of cached function of abi
+    private long functionCacheSize = 2048;
+
+    // cache constant call's output in current block
+    private boolean constantCallCacheEnabled = false;
+    private long constantCallCacheMaxBytes = 64 * 1024 * 1024;
+
+    // blocking queries to node run concurrently
+    private int nodeQueryThreads = 16;
+    private int nodeQueryQueueSize = 1000;
+    // refresh node status of requested groups in background
+    private long nodeStatusRefreshMs = 5000;
+    // max wait of concurrent queries of groups, such as group status, monitor and node status
+    private long groupQueryTimeoutMs = 3000;
+    // threads of scheduled jobs, such as block height reconcile and node probe
+    private int schedulerThreads = 8;
+
+    // merge the same node request in flight,
+    // key of fresh map is method, such as syncStatus, value is time (ms) to share returned result
+    private boolean singleFlightEnabled = true;
+    private Map<String, Long> singleFlightFreshMs = new HashMap<>();
+
+    // reconcile block height of groups with node, block notify may be missed
+    private long blockHeightReconcileMs = 2000;
+    // route requests to nodes of sdk.nodeList, probe nodes in background,
+    // skip node behind others more than nodeRouteMaxLag blocks (0: not check)
+    private long nodeRouteProbeMs = 1000;
+    private long nodeRouteMaxLag = 10;
+    // breaker opens after continuous failures of node, closed by next success of probe
+    private int nodeBreakerFailures = 3;
+    private long nodeBreakerOpenMs = 10000;
+    // refresh group list of node in background, missing group refreshes at most once in ttl
+    private long groupTopologyRefreshMs = 10000;
+    private long groupUnknownTtlMs = 5000;
+    private long groupUnknownCacheSize = 10000;
+    // index transactions of groups by address and contract in db
+    private boolean txIndexEnabled = false;
+    private long txIndexStartBlock = 0;
+    private int txIndexBatchBlocks = 100;
+    private int txIndexParallelism = 8;
+    private int txIndexThreads = 2;
+    private long txIndexIntervalMs = 5000;
+    private int txIndexMaxPageSize = 100;
+    // export blocks and receipts into gzip ndjson segments
+    private String exportDir = "./export";
+    private long exportSegmentBytes = 64 * 1024 * 1024L;
+    private int exportParallelism = 16;
+    private int exportThreads = 2;
+    private int exportCheckpointBlocks = 100;
+    // finished tasks kept in task list of GET /export
+    private int exportTaskHistorySize = 100;
+
+    // stream blocks of range, blocks fetched concurrently in each stream
+    private int blockStreamMaxSize = 10000;
+    private int blockStreamParallelism = 8;
+    private int blockStreamThreads = 4;
+    // second
+    private int blockStreamMaxWait = 600;
+
+    // cache committed blocks, transactions and receipts
+    private boolean web3CacheEnabled = true;
+    private long web3CacheMaxBytes = 128 * 1024 * 1024;
+
+    // count of random accounts used by query
+    private int queryIdentityPoolSize = 8;
+
+    // cached credentials of local users, 0 means not cache
+    private long credentialsCacheSize = 1000;
+    // second
+    private long credentialsCacheTtl = 600;
+
+    // client of webase-sign
+    private int signThreads = 64;
+    private int signQueueSize = 10000;
+    private boolean signHedgeEnabled = false;
+    // min delay (ms) before hedged request, actual delay is p95 latency of sign
+    private long signHedgeMinDelayMs = 20;
+    // breaker opens after continuous failures, half open after signBreakerOpenMs
+    private int signBreakerFailures = 5;
+    private long signBreakerOpenMs = 10000;
+    // batch sign, webase-sign should support /sign/batch
+    private boolean signBatchEnabled = false;
+    private int signBatchMaxSize = 50;
+    private long signBatchWaitMs = 2;
+
+    // stress test of /performance/stress, disabled in production
+    private boolean stressEnabled = false;
+    // sender threads of a stress task
+    private int stressMaxConcurrency = 200;
+
+    // receipt store of transactions sent by front
+    private long receiptStoreMaxSize = 100000;
+    // second
+    private long receiptStoreTtl = 600;
+    private boolean receiptSpillEnabled = false;
+    // second
+    private long receiptSpillTtl = 86400;
+    private long receiptMaxWaitMs = 30000;
+    private int receiptQueryMaxSize = 1000;
+    // admission of transactions per group
+    private boolean admissionEnabled = false;
+    private int admissionMaxInFlight = 2000;
+    // reject when pending tx size of node reach, 0 means not check
+    private long admissionPendingWatermark = 0;
+    private long admissionPendingRefreshMs = 1000;
+
 }
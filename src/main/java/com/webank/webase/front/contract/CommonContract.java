@@ -18,6 +18,7 @@ package com.webank.webase.front.contract;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.List;
+import org.fisco.bcos.channel.client.TransactionSucCallback;
 import org.fisco.bcos.web3j.abi.datatypes.Function;
 import org.fisco.bcos.web3j.abi.datatypes.Type;
 import org.fisco.bcos.web3j.crypto.Credentials;
@@ -44,6 +45,10 @@ public final class CommonContract extends Contract {
         return executeTransaction(function);
     }
 
+    public void asyncExecTransaction(Function function, TransactionSucCallback callback) {
+        asyncExecuteTransaction(function, callback);
+    }
+
     @SuppressWarnings("rawtypes")
     public List<Type> execCall(Function function) throws IOException {
         return executeCallMultipleValueReturn(function);
@@ -23,6 +23,8 @@ import com.webank.webase.front.base.code.ConstantCode;
 import com.webank.webase.front.base.config.MySecurityManagerConfig;
 import com.webank.webase.front.base.enums.ContractStatus;
 import com.webank.webase.front.base.enums.GMStatus;
+import com.webank.webase.front.base.enums.TransEndpoint;
+import com.webank.webase.front.base.enums.TransStage;
 import com.webank.webase.front.base.exception.FrontException;
 import com.webank.webase.front.base.properties.Constants;
 import com.webank.webase.front.base.response.BaseResponse;
@@ -41,7 +43,9 @@ import com.webank.webase.front.contract.entity.RspContractCompile;
 import com.webank.webase.front.contract.entity.RspContractNoAbi;
 import com.webank.webase.front.contract.entity.RspMultiContractCompile;
 import com.webank.webase.front.keystore.KeyStoreService;
+import com.webank.webase.front.metrics.TransMetrics;
 import com.webank.webase.front.precompiledapi.permission.PermissionManageService;
+import com.webank.webase.front.transaction.AdmissionControl;
 import com.webank.webase.front.transaction.TransService;
 import com.webank.webase.front.util.AbiUtil;
 import com.webank.webase.front.util.CommonUtils;
@@ -61,10 +65,6 @@ import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Predicate;
@@ -111,6 +111,10 @@ public class ContractService {
     @Autowired
     private TransService transService;
     @Autowired
+    private AdmissionControl admissionControl;
+    @Autowired
+    private TransMetrics transMetrics;
+    @Autowired
     private KeyStoreService keyStoreService;
     @Autowired
     private Web3ApiService web3ApiService;
@@ -245,28 +249,28 @@ public class ContractService {
             checkDeployPermission(req.getGroupId(), userAddress);
         }
 
+        long encodeStartNanos = System.nanoTime();
         String contractName = req.getContractName();
         ContractAbiUtil.VersionEvent versionEvent =
                 ContractAbiUtil.getVersionEventFromAbi(contractName, abiInfos);
         String encodedConstructor = constructorEncoded(contractName, versionEvent, params);
+        transMetrics.record(groupId, TransEndpoint.DEPLOY_WITH_SIGN, TransStage.ENCODE,
+            encodeStartNanos);
 
-
-        // data sign
         String data = bytecodeBin + encodedConstructor;
-        String signMsg = transService.signMessage(groupId, web3j, signUserId, "", data);
         // send transaction
-        final CompletableFuture<TransactionReceipt> transFuture = new CompletableFuture<>();
-        transService.sendMessage(web3j, signMsg, transFuture);
-        TransactionReceipt receipt;
-        try {
-            receipt = transFuture.get(constants.getTransMaxWait(), TimeUnit.SECONDS);
-        } catch (InterruptedException | ExecutionException e) {
-            log.error("get tx receipt error for interrupted or exec:[]", e);
-            throw new FrontException(ConstantCode.GET_TX_RECEIPT_EXEC_ERROR);
-        } catch (TimeoutException e) {
-            log.error("get tx receipt error for timeout:[]", e);
-            throw new FrontException(ConstantCode.GET_TX_RECEIPT_TIMEOUT_ERROR);
-        }
+        TransactionReceipt receipt = TransService.waitForResult(
+            admissionControl.submit(groupId, () -> {
+                // data sign
+                long signStartNanos = System.nanoTime();
+                String signMsg = transService.signMessage(groupId, web3j, signUserId, "", data);
+                transMetrics.record(groupId, TransEndpoint.DEPLOY_WITH_SIGN, TransStage.SIGN,
+                    signStartNanos);
+                long nodeStartNanos = System.nanoTime();
+                return transService.sendMessageAsync(web3j, signMsg).whenComplete(
+                    (rsp, ex) -> transMetrics.record(groupId, TransEndpoint.DEPLOY_WITH_SIGN,
+                        TransStage.NODE, nodeStartNanos));
+            }));
         String contractAddress = receipt.getContractAddress();
         log.info("success deploy. contractAddress:{}", contractAddress);
         return contractAddress;
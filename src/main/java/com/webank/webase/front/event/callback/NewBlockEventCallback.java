@@ -20,6 +20,9 @@ import com.webank.webase.front.base.enums.EventTypes;
 import com.webank.webase.front.event.MQPublisher;
 import com.webank.webase.front.event.entity.PublisherHelper;
 import com.webank.webase.front.event.entity.message.BlockPushMessage;
+import com.webank.webase.front.transaction.ConstantCallCache;
+import com.webank.webase.front.txindex.TxIndexService;
+import com.webank.webase.front.web3api.BlockHeightTracker;
 import org.fisco.bcos.channel.client.BlockNotifyCallBack;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,11 +44,26 @@ public class NewBlockEventCallback implements BlockNotifyCallBack {
 
     @Autowired
     private MQPublisher MQPublisher;
+    @Autowired
+    private ConstantCallCache constantCallCache;
+    @Autowired
+    private BlockHeightTracker blockHeightTracker;
+    @Autowired
+    private TxIndexService txIndexService;
 
     @Override
     public void onBlockNotify(int groupID, BigInteger blockNumber) {
         logger.info("NewBlockEventCallBack groupID:{}, blockNumber:{}",
                 groupID, blockNumber);
+        // drop constant call output of old block
+        if (blockHeightTracker.onBlockNotify(groupID, blockNumber)) {
+            constantCallCache.onNewBlock(groupID);
+        }
+        // notify of the same block from other nodes of group
+        if (!blockHeightTracker.isFirstNotify(groupID, blockNumber)) {
+            return;
+        }
+        txIndexService.onNewBlock(groupID);
         // register map
 		if (BLOCK_ROUTING_KEY_MAP.isEmpty()) {
 			logger.debug("block notify register list is empty. ");
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.export;
+
+import com.webank.webase.front.export.entity.ExportTaskInfo;
+import com.webank.webase.front.export.entity.ReqExport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * export mode of jar, exit after export:
+ * java -jar webase-front.jar --export --groupId=1 --from=0 --to=10000 [--withReceipts=false]
+ * add --server.port=0 when front of the same config is running
+ */
+@Slf4j
+@Component
+public class ExportCommandRunner implements ApplicationRunner {
+
+    private static final String OPTION_EXPORT = "export";
+
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private ApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION_EXPORT)) {
+            return;
+        }
+        int exitCode = 1;
+        try {
+            ReqExport req = new ReqExport();
+            req.setGroupId(Integer.parseInt(option(args, "groupId")));
+            req.setFrom(Long.parseLong(option(args, "from")));
+            req.setTo(Long.parseLong(option(args, "to")));
+            if (args.containsOption("withReceipts")) {
+                req.setWithReceipts(Boolean.parseBoolean(option(args, "withReceipts")));
+            }
+            ExportTaskInfo task = exportService.export(req);
+            log.info("export finish. task:{}", task);
+            exitCode = ExportTaskInfo.STATE_DONE.equals(task.getState()) ? 0 : 1;
+        } catch (RuntimeException e) {
+            log.error("export fail.", e);
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    private static String option(ApplicationArguments args, String name) {
+        if (!args.containsOption(name) || args.getOptionValues(name).isEmpty()) {
+            throw new IllegalArgumentException("missing option --" + name);
+        }
+        return args.getOptionValues(name).get(0);
+    }
+}
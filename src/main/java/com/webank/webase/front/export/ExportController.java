@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.export;
+
+import com.webank.webase.front.base.code.ConstantCode;
+import com.webank.webase.front.base.controller.BaseController;
+import com.webank.webase.front.base.response.BaseResponse;
+import com.webank.webase.front.export.entity.ExportTaskInfo;
+import com.webank.webase.front.export.entity.ReqExport;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiOperation;
+import java.util.List;
+import javax.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * export blocks and receipts to local files
+ */
+@Api(value = "/export", tags = "export interface")
+@Slf4j
+@RestController
+@RequestMapping(value = "/export")
+public class ExportController extends BaseController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @ApiOperation(value = "start export",
+        notes = "export blocks and receipts of range into gzip ndjson segments, resume from checkpoint of the same range")
+    @ApiImplicitParam(name = "req", value = "group and block range", required = true, dataType = "ReqExport")
+    @PostMapping
+    public ExportTaskInfo start(@Valid @RequestBody ReqExport req, BindingResult result) {
+        log.info("start export. req:{}", req);
+        checkParamResult(result);
+        return exportService.start(req);
+    }
+
+    @ApiOperation(value = "get export tasks", notes = "get state of export tasks")
+    @GetMapping
+    public List<ExportTaskInfo> getTasks() {
+        return exportService.getTasks();
+    }
+
+    @ApiOperation(value = "stop export", notes = "stop export task at next block")
+    @DeleteMapping("/{taskId}")
+    public BaseResponse stop(@PathVariable String taskId) {
+        exportService.stop(taskId);
+        return new BaseResponse(ConstantCode.RET_SUCCEED);
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.export;
+
+import com.webank.webase.front.base.code.ConstantCode;
+import com.webank.webase.front.base.exception.FrontException;
+import com.webank.webase.front.base.properties.Constants;
+import com.webank.webase.front.export.entity.ExportTaskInfo;
+import com.webank.webase.front.export.entity.ReqExport;
+import com.webank.webase.front.util.JsonUtils;
+import com.webank.webase.front.web3api.BlockHeightTracker;
+import com.webank.webase.front.web3api.Web3ApiService;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.fisco.bcos.web3j.protocol.Web3j;
+import org.fisco.bcos.web3j.protocol.core.DefaultBlockParameter;
+import org.fisco.bcos.web3j.protocol.core.methods.response.BcosBlock;
+import org.fisco.bcos.web3j.protocol.core.methods.response.BcosBlock.TransactionObject;
+import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/**
+ * export blocks and receipts of a range into gzip ndjson segments under exportDir,
+ * one line of {"block", "receipts"} per block in order of block number.
+ * at most exportParallelism blocks are fetched from node at the same time,
+ * and progress is checkpointed every exportCheckpointBlocks blocks,
+ * so that export of the same range resumes from checkpoint
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    @Autowired
+    private Web3ApiService web3ApiService;
+    @Autowired
+    private BlockHeightTracker blockHeightTracker;
+    @Autowired
+    private Constants constants;
+    @Autowired
+    @Qualifier(value = "exportExecutor")
+    private ExecutorService exportExecutor;
+
+    private final Map<String, ExportTaskInfo> taskMap = new ConcurrentHashMap<>();
+
+    /**
+     * start export in background
+     */
+    public ExportTaskInfo start(ReqExport req) {
+        ExportTaskInfo task = newTask(req);
+        try {
+            exportExecutor.execute(() -> run(task));
+        } catch (RejectedExecutionException e) {
+            taskMap.remove(task.getTaskId());
+            throw new FrontException(ConstantCode.EXPORT_BUSY);
+        }
+        return task;
+    }
+
+    /**
+     * export in current thread
+     */
+    public ExportTaskInfo export(ReqExport req) {
+        ExportTaskInfo task = newTask(req);
+        run(task);
+        return task;
+    }
+
+    public List<ExportTaskInfo> getTasks() {
+        return new ArrayList<>(taskMap.values());
+    }
+
+    /**
+     * stop running task, it can be resumed by export of the same range
+     */
+    public void stop(String taskId) {
+        ExportTaskInfo task = taskMap.get(taskId);
+        if (task == null) {
+            throw new FrontException(ConstantCode.EXPORT_TASK_NOT_EXISTS);
+        }
+        task.setStopped(true);
+    }
+
+    private ExportTaskInfo newTask(ReqExport req) {
+        int groupId = req.getGroupId();
+        Web3j web3j = web3ApiService.getWeb3j(groupId);
+        if (req.getFrom() < 0 || req.getFrom() > req.getTo()) {
+            throw new FrontException(ConstantCode.BLOCK_RANGE_ERROR);
+        }
+        BigInteger to = BigInteger.valueOf(req.getTo());
+        if (to.compareTo(blockHeightTracker.getBlockNumber(groupId, web3j)) > 0
+                && to.compareTo(blockHeightTracker.refresh(groupId, web3j)) > 0) {
+            throw new FrontException(ConstantCode.BLOCK_RANGE_ERROR);
+        }
+        String taskId = String.format("group%d_%d_%d", groupId, req.getFrom(), req.getTo());
+        ExportTaskInfo task = new ExportTaskInfo();
+        task.setTaskId(taskId);
+        task.setGroupId(groupId);
+        task.setFrom(req.getFrom());
+        task.setTo(req.getTo());
+        task.setWithReceipts(req.isWithReceipts());
+        task.setDir(Paths.get(constants.getExportDir(), taskId).toString());
+        task.setNextBlock(req.getFrom());
+        task.setState(ExportTaskInfo.STATE_RUNNING);
+        task.setStartTime(System.currentTimeMillis());
+        ExportTaskInfo previous = taskMap.put(taskId, task);
+        if (previous != null && ExportTaskInfo.STATE_RUNNING.equals(previous.getState())) {
+            taskMap.put(taskId, previous);
+            throw new FrontException(ConstantCode.EXPORT_TASK_RUNNING);
+        }
+        return task;
+    }
+
+    private void run(ExportTaskInfo task) {
+        log.info("export start. taskId:{}", task.getTaskId());
+        Web3j web3j = web3ApiService.getWeb3j(task.getGroupId());
+        Path dir = Paths.get(task.getDir());
+        Deque<CompletableFuture<String>> window = new ArrayDeque<>();
+        try (SegmentWriter writer = new SegmentWriter(dir, task.getFrom(),
+                constants.getExportSegmentBytes())) {
+            long next = writer.getNextBlock();
+            long written = 0;
+            while ((next <= task.getTo() || !window.isEmpty()) && !task.isStopped()) {
+                while (next <= task.getTo() && window.size() < constants.getExportParallelism()) {
+                    window.add(fetch(web3j, next++, task.isWithReceipts()));
+                }
+                String line = window.poll().join();
+                writer.write(writer.getNextBlock(), line);
+                task.setNextBlock(writer.getNextBlock());
+                task.setSegment(writer.getSegment());
+                if (++written % constants.getExportCheckpointBlocks() == 0) {
+                    writer.checkpoint();
+                }
+            }
+            task.setState(task.isStopped() ? ExportTaskInfo.STATE_STOPPED
+                : ExportTaskInfo.STATE_DONE);
+            log.info("export end. taskId:{} state:{} nextBlock:{} useTime:{}", task.getTaskId(),
+                task.getState(), task.getNextBlock(),
+                System.currentTimeMillis() - task.getStartTime());
+        } catch (IOException | RuntimeException e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null
+                ? e.getCause() : e;
+            log.error("export fail. taskId:{} nextBlock:{}", task.getTaskId(),
+                task.getNextBlock(), cause);
+            task.setState(ExportTaskInfo.STATE_FAILED);
+            task.setErrorMessage(cause.getMessage());
+        } finally {
+            window.forEach(future -> future.cancel(true));
+            task.setEndTime(System.currentTimeMillis());
+            evictFinished();
+        }
+    }
+
+    /**
+     * keep latest exportTaskHistorySize finished tasks
+     */
+    private void evictFinished() {
+        List<ExportTaskInfo> finished = taskMap.values().stream()
+            .filter(task -> !ExportTaskInfo.STATE_RUNNING.equals(task.getState()))
+            .sorted(Comparator.comparing(ExportTaskInfo::getEndTime,
+                Comparator.nullsLast(Comparator.naturalOrder())))
+            .collect(Collectors.toList());
+        for (int i = 0; i < finished.size() - constants.getExportTaskHistorySize(); i++) {
+            taskMap.remove(finished.get(i).getTaskId(), finished.get(i));
+        }
+    }
+
+    /**
+     * json line of block and receipts of its transactions
+     */
+    private CompletableFuture<String> fetch(Web3j web3j, long blockNumber, boolean withReceipts) {
+        return web3j.getBlockByNumber(DefaultBlockParameter.valueOf(BigInteger.valueOf(blockNumber)),
+            true).sendAsync().thenCompose(rsp -> {
+                if (rsp.hasError() || rsp.getBlock() == null) {
+                    throw new FrontException(ConstantCode.NODE_REQUEST_FAILED.getCode(),
+                        String.format("get block:%d fail", blockNumber));
+                }
+                BcosBlock.Block block = rsp.getBlock();
+                if (!withReceipts || block.getTransactions().isEmpty()) {
+                    return CompletableFuture.completedFuture(
+                        toLine(block, Collections.emptyList()));
+                }
+                List<CompletableFuture<TransactionReceipt>> receiptFutures = new ArrayList<>();
+                for (BcosBlock.TransactionResult result : block.getTransactions()) {
+                    String transHash = ((TransactionObject) result).getHash();
+                    receiptFutures.add(web3j.getTransactionReceipt(transHash).sendAsync()
+                        .thenApply(receiptRsp -> receiptRsp.getTransactionReceipt()
+                            .orElseThrow(() -> new FrontException(
+                                ConstantCode.NODE_REQUEST_FAILED.getCode(),
+                                String.format("get receipt:%s fail", transHash)))));
+                }
+                return CompletableFuture.allOf(receiptFutures.toArray(new CompletableFuture[0]))
+                    .thenApply(v -> {
+                        List<TransactionReceipt> receipts = new ArrayList<>(receiptFutures.size());
+                        receiptFutures.forEach(future -> receipts.add(future.join()));
+                        return toLine(block, receipts);
+                    });
+            });
+    }
+
+    private static String toLine(BcosBlock.Block block, List<TransactionReceipt> receipts) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("block", block);
+        line.put("receipts", receipts);
+        return JsonUtils.toJSONString(line);
+    }
+}
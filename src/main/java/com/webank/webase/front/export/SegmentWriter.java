@@ -0,0 +1,185 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.export;
+
+import com.webank.webase.front.export.entity.ExportCheckpoint;
+import com.webank.webase.front.util.JsonUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * write ndjson lines of blocks into segments of export dir.
+ * segment-N.ndjson.gz holds one gzip member per block, so that a block can be read
+ * from its offset; segment-N.idx holds a line of "blockNumber,offset,length" per block.
+ * a new segment starts when size of current one reaches segmentBytes.
+ * after a failed write, checkpoint is not updated, and the partial data is dropped on resume
+ */
+class SegmentWriter implements Closeable {
+
+    static final String CHECKPOINT_FILE = "checkpoint.json";
+    private static final String DATA_FILE = "segment-%06d.ndjson.gz";
+    private static final String INDEX_FILE = "segment-%06d.idx";
+
+    private final Path dir;
+    private final long segmentBytes;
+    private final ExportCheckpoint checkpoint;
+    private FileChannel dataChannel;
+    private FileChannel indexChannel;
+    private boolean failed;
+
+    /**
+     * resume from checkpoint of dir if exists
+     *
+     * @param from first block of a new export
+     */
+    SegmentWriter(Path dir, long from, long segmentBytes) throws IOException {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(dir);
+        Path checkpointPath = dir.resolve(CHECKPOINT_FILE);
+        ExportCheckpoint saved = Files.exists(checkpointPath)
+            ? JsonUtils.toJavaObject(new String(Files.readAllBytes(checkpointPath),
+                StandardCharsets.UTF_8), ExportCheckpoint.class) : null;
+        if (saved == null) {
+            saved = new ExportCheckpoint();
+            saved.setNextBlock(from);
+        }
+        this.checkpoint = saved;
+        openSegment();
+    }
+
+    long getNextBlock() {
+        return checkpoint.getNextBlock();
+    }
+
+    int getSegment() {
+        return checkpoint.getSegment();
+    }
+
+    /**
+     * @param line json of block without line separator
+     */
+    void write(long blockNumber, String line) throws IOException {
+        checkNotFailed();
+        failed = true;
+        if (dataChannel.size() >= segmentBytes) {
+            roll();
+        }
+        byte[] member = gzip((line + "\n").getBytes(StandardCharsets.UTF_8));
+        long offset = dataChannel.size();
+        writeFully(dataChannel, member);
+        writeFully(indexChannel, (blockNumber + "," + offset + "," + member.length + "\n")
+            .getBytes(StandardCharsets.UTF_8));
+        checkpoint.setNextBlock(blockNumber + 1);
+        failed = false;
+    }
+
+    /**
+     * flush segment to disk, then replace checkpoint
+     */
+    void checkpoint() throws IOException {
+        checkNotFailed();
+        failed = true;
+        saveCheckpoint();
+        failed = false;
+    }
+
+    /**
+     * checkpoint if no write failed, last good checkpoint is kept otherwise
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!failed) {
+                checkpoint();
+            }
+        } finally {
+            dataChannel.close();
+            indexChannel.close();
+        }
+    }
+
+    private void checkNotFailed() throws IOException {
+        if (failed) {
+            throw new IOException("segment writer failed before");
+        }
+    }
+
+    private void saveCheckpoint() throws IOException {
+        dataChannel.force(false);
+        indexChannel.force(false);
+        checkpoint.setDataSize(dataChannel.size());
+        checkpoint.setIndexSize(indexChannel.size());
+        checkpoint.setModifyTime(System.currentTimeMillis());
+        Path tmp = dir.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.write(tmp, JsonUtils.toJSONString(checkpoint).getBytes(StandardCharsets.UTF_8));
+        Files.move(tmp, dir.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void roll() throws IOException {
+        saveCheckpoint();
+        dataChannel.close();
+        indexChannel.close();
+        checkpoint.setSegment(checkpoint.getSegment() + 1);
+        checkpoint.setDataSize(0);
+        checkpoint.setIndexSize(0);
+        openSegment();
+        saveCheckpoint();
+    }
+
+    /**
+     * open segment of checkpoint, drop what is written after checkpoint
+     */
+    private void openSegment() throws IOException {
+        int segment = checkpoint.getSegment();
+        dataChannel = open(dir.resolve(String.format(DATA_FILE, segment)), checkpoint.getDataSize());
+        indexChannel = open(dir.resolve(String.format(INDEX_FILE, segment)),
+            checkpoint.getIndexSize());
+    }
+
+    private static FileChannel open(Path path, long size) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE);
+        channel.truncate(size);
+        channel.position(size);
+        return channel;
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeFully(FileChannel channel, byte[] data) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.export.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+/**
+ * state of an export task, task id is the name of its dir
+ */
+@Data
+public class ExportTaskInfo {
+    public static final String STATE_RUNNING = "RUNNING";
+    public static final String STATE_DONE = "DONE";
+    public static final String STATE_STOPPED = "STOPPED";
+    public static final String STATE_FAILED = "FAILED";
+
+    private String taskId;
+    private int groupId;
+    private long from;
+    private long to;
+    private boolean withReceipts;
+    private String dir;
+    private volatile String state;
+    private volatile long nextBlock;
+    private volatile int segment;
+    private long startTime;
+    private volatile Long endTime;
+    private volatile String errorMessage;
+    @JsonIgnore
+    private volatile boolean stopped;
+}
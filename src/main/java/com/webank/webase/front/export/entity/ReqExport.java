@@ -0,0 +1,36 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.export.entity;
+
+import javax.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * export blocks of range [from, to]
+ */
+@Data
+public class ReqExport {
+    @NotNull
+    private Integer groupId;
+    @NotNull
+    private Long from;
+    @NotNull
+    private Long to;
+    /**
+     * export receipts of transactions with block
+     */
+    private boolean withReceipts = true;
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.keystore;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.webank.webase.front.base.code.ConstantCode;
+import com.webank.webase.front.base.exception.FrontException;
+import com.webank.webase.front.base.properties.Constants;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.fisco.bcos.web3j.crypto.Credentials;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * cache of decrypted credentials of local users by address,
+ * avoid db query, aes decrypt and key pair creation on every transaction.
+ * evicted by ttl, or when key store is deleted or imported
+ */
+@Slf4j
+@Component
+public class CredentialsCache {
+
+    @Autowired
+    private Constants constants;
+
+    private Cache<String, CredentialsHolder> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = CacheBuilder.newBuilder()
+            .maximumSize(constants.getCredentialsCacheSize())
+            .expireAfterWrite(constants.getCredentialsCacheTtl(), TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * get credentials of address, loaded by loader if not cached
+     */
+    public Credentials get(String address, Supplier<Credentials> loader) {
+        if (!isEnabled()) {
+            return loader.get();
+        }
+        try {
+            return cache.get(address, () -> new CredentialsHolder(loader.get())).credentials;
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof FrontException) {
+                throw (FrontException) e.getCause();
+            }
+            log.error("load credentials error. address:{}", address, e.getCause());
+            throw new FrontException(ConstantCode.PRIVATEKEY_IS_NULL);
+        }
+    }
+
+    public boolean isEnabled() {
+        return constants.getCredentialsCacheSize() > 0;
+    }
+
+    public void invalidate(String address) {
+        cache.invalidate(address);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * not serializable, and private key is not printed in log
+     */
+    private static final class CredentialsHolder {
+        private final Credentials credentials;
+
+        private CredentialsHolder(Credentials credentials) {
+            this.credentials = credentials;
+        }
+
+        @Override
+        public String toString() {
+            return "CredentialsHolder(address=" + credentials.getAddress() + ")";
+        }
+    }
+}
@@ -74,8 +74,13 @@ public class KeyStoreService {
     RestTemplate restTemplate;
     @Autowired
     KeystoreRepository keystoreRepository;
+    @Autowired
+    private CredentialsCache credentialsCache;
+    @Autowired
+    private SignClient signClient;
     static final int PUBLIC_KEY_LENGTH_IN_HEX = 128;
     private static Map<String, String> PRIVATE_KEY_MAP = new HashMap<>();
+    private volatile QueryIdentityPool queryIdentityPool;
 
 
     /**
@@ -156,6 +161,7 @@ public class KeyStoreService {
      */
     public void deleteKeyStore(String address) {
         keystoreRepository.delete(address);
+        credentialsCache.invalidate(address);
     }
 
     /**
@@ -182,18 +188,37 @@ public class KeyStoreService {
      */
     public Credentials getCredentialsForQuery() {
         log.debug("start getCredentialsForQuery. ");
-        // create keyPair(support guomi)
-        ECKeyPair keyPair = GenCredential.createKeyPair();
-        if (keyPair == null) {
-            log.error("create random Credentials for query failed for null key pair");
-            throw new FrontException(ConstantCode.WEB3J_CREATE_KEY_PAIR_NULL);
-        }
-        KeyStoreInfo keyStoreInfo = keyPair2KeyStoreInfo(keyPair, "");
-        return GenCredential.create(keyStoreInfo.getPrivateKey());
+        return getQueryIdentityPool().nextCredentials();
     }
 
+    /**
+     * random account for query, shared by queries, do not modify
+     */
     public KeyStoreInfo getKeyStoreInfoForQuery() {
         log.debug("start getKeyStoreInfoForQuery. ");
+        return getQueryIdentityPool().nextKeyStoreInfo();
+    }
+
+    /**
+     * init pool after encrypt type is set
+     */
+    private QueryIdentityPool getQueryIdentityPool() {
+        QueryIdentityPool pool = queryIdentityPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = queryIdentityPool;
+                if (pool == null) {
+                    pool = new QueryIdentityPool(constants.getQueryIdentityPoolSize(),
+                        this::createKeyStoreInfoForQuery);
+                    log.info("init query identity pool size:{}", pool.size());
+                    queryIdentityPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    private KeyStoreInfo createKeyStoreInfoForQuery() {
         // create keyPair(support guomi)
         ECKeyPair keyPair = GenCredential.createKeyPair();
         if (keyPair == null) {
@@ -209,42 +234,7 @@ public class KeyStoreService {
      * @return
      */
     public String getSignData(EncodeInfo params) throws FrontException {
-        try {
-            SignInfo signInfo = new SignInfo();
-            String url = String.format(Constants.WEBASE_SIGN_URI, constants.getKeyServer());
-            log.info("getSignData url:{}", url);
-            HttpHeaders headers = CommonUtils.buildHeaders();
-            HttpEntity<String> formEntity =
-                    new HttpEntity<String>(JsonUtils.toJSONString(params), headers);
-            BaseResponse response =
-                    restTemplate.postForObject(url, formEntity, BaseResponse.class);
-            log.info("getSignData response:{}", JsonUtils.toJSONString(response));
-            if (response.getCode() == 0) {
-                signInfo = CommonUtils.object2JavaBean(response.getData(), SignInfo.class);
-            } else {
-                log.error("getSignData fail for error response:{}", response);
-                throw new FrontException(response.getCode(), response.getMessage());
-            }
-            String signDataStr = signInfo.getSignDataStr();
-            if (StringUtils.isBlank(signDataStr)) {
-                log.warn("get sign data error and get blank string.");
-                throw new FrontException(ConstantCode.DATA_SIGN_ERROR);
-            }
-            return signDataStr;
-        } catch (ResourceAccessException ex) {
-            log.error("getSignData fail restTemplateExchange", ex);
-            throw new FrontException(ConstantCode.DATA_SIGN_NOT_ACCESSIBLE);
-        } catch (HttpStatusCodeException e) {
-            JsonNode error = JsonUtils.stringToJsonNode(e.getResponseBodyAsString());
-            if (error == null) {
-                throw e;
-            }
-            log.error("getSignData http request fail. error:{}", JsonUtils.toJSONString(error));
-            // if return 404, no code or errorMessage
-            int code = error.get("code").intValue();
-            String errorMessage = error.get("errorMessage").asText();
-            throw new FrontException(code, errorMessage);
-        }
+        return signClient.sign(params);
     }
 
     /**
@@ -265,8 +255,7 @@ public class KeyStoreService {
      * 2019/11/26 support guomi
      */
     public Credentials getCredentials(String user) throws FrontException {
-        String privateKey = getPrivateKey(user);
-        return GenCredential.create(privateKey);
+        return credentialsCache.get(user, () -> GenCredential.create(getPrivateKey(user)));
     }
     /**
      * get PrivateKey.
@@ -385,6 +374,7 @@ public class KeyStoreService {
         keyStoreInfo.setType(KeyTypes.LOCALUSER.getValue());
         String realPrivateKey = keyStoreInfo.getPrivateKey();
         keyStoreInfo.setPrivateKey(aesUtils.aesEncrypt(realPrivateKey));
+        credentialsCache.invalidate(keyStoreInfo.getAddress());
         return keystoreRepository.save(keyStoreInfo);
     }
 
@@ -413,7 +403,7 @@ public class KeyStoreService {
         try {
             // webase-sign api(v1.3.0) support
             RspUserInfo rspUserInfo = new RspUserInfo();
-            String url = String.format(Constants.WEBASE_SIGN_USER_URI, constants.getKeyServer(),
+            String url = String.format(Constants.WEBASE_SIGN_USER_URI, signClient.getKeyServer(),
                     EncryptType.encryptType, signUserId, appId);
             log.info("getSignUserEntity url:{}", url);
             HttpHeaders headers = CommonUtils.buildHeaders();
@@ -453,7 +443,7 @@ public class KeyStoreService {
         try {
             RspUserInfo rspUserInfo = new RspUserInfo();
             String urlSpilt = constants.WEBASE_SIGN_USER_URI.split("\\?")[0];
-            String url = String.format(urlSpilt, constants.getKeyServer());
+            String url = String.format(urlSpilt, signClient.getKeyServer());
             log.info("getSignUserEntity url:{}", url);
             Map<String, Object> params = new HashMap<>();
             params.put("privateKey", privateKeyEncoded);
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.keystore;
+
+import com.webank.webase.front.keystore.entity.KeyStoreInfo;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.fisco.bcos.web3j.crypto.Credentials;
+import org.fisco.bcos.web3j.crypto.gm.GenCredential;
+
+/**
+ * pre-built random accounts used as sender of constant call,
+ * picked in turn instead of generating key pair on each query
+ */
+public class QueryIdentityPool {
+
+    private final KeyStoreInfo[] keyStoreInfos;
+    private final Credentials[] credentials;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param size count of accounts
+     * @param generator generate random account, support guomi
+     */
+    public QueryIdentityPool(int size, Supplier<KeyStoreInfo> generator) {
+        int poolSize = Math.max(1, size);
+        keyStoreInfos = new KeyStoreInfo[poolSize];
+        credentials = new Credentials[poolSize];
+        for (int i = 0; i < poolSize; i++) {
+            keyStoreInfos[i] = generator.get();
+            credentials[i] = GenCredential.create(keyStoreInfos[i].getPrivateKey());
+        }
+    }
+
+    public KeyStoreInfo nextKeyStoreInfo() {
+        return keyStoreInfos[nextIndex()];
+    }
+
+    public Credentials nextCredentials() {
+        return credentials[nextIndex()];
+    }
+
+    public int size() {
+        return keyStoreInfos.length;
+    }
+
+    private int nextIndex() {
+        return Math.floorMod(next.getAndIncrement(), keyStoreInfos.length);
+    }
+}
@@ -0,0 +1,430 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.keystore;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.webank.webase.front.base.code.ConstantCode;
+import com.webank.webase.front.base.exception.FrontException;
+import com.webank.webase.front.base.properties.Constants;
+import com.webank.webase.front.base.response.BaseResponse;
+import com.webank.webase.front.keystore.entity.EncodeInfo;
+import com.webank.webase.front.keystore.entity.SignInfo;
+import com.webank.webase.front.metrics.entity.SignClientMetrics;
+import com.webank.webase.front.metrics.entity.SignEndpointMetrics;
+import com.webank.webase.front.util.CommonUtils;
+import com.webank.webase.front.util.JsonUtils;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * client of webase-sign servers configured in keyServer (split by ",").
+ * request is routed to the server of least latency, a server is skipped by circuit breaker
+ * after continuous failures, and the request is retried on another server.
+ * if hedge enabled, another server is requested when no response after p95 latency.
+ * if batch enabled, concurrent requests are sent in one request of /sign/batch
+ */
+@Slf4j
+@Component
+public class SignClient {
+
+    private static final long HIGHEST_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final int MIN_HEDGE_SAMPLES = 20;
+    private static final long BATCH_POLL_SECONDS = 1L;
+
+    @Autowired
+    private Constants constants;
+    @Autowired
+    private RestTemplate restTemplate;
+    @Autowired
+    @Qualifier("signExecutor")
+    private ExecutorService signExecutor;
+
+    private List<SignEndpoint> endpoints;
+    private final Recorder latencyRecorder = new Recorder(HIGHEST_MILLIS, 2);
+    private Histogram latencyHistogram;
+    private volatile long hedgeDelayMillis;
+    private final LongAdder hedgedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final BlockingQueue<PendingSign> batchQueue = new LinkedBlockingQueue<>();
+    private volatile boolean running = true;
+
+    @PostConstruct
+    public void init() {
+        List<SignEndpoint> list = new ArrayList<>();
+        for (String address : StringUtils.split(StringUtils.defaultString(constants.getKeyServer()), ",")) {
+            if (StringUtils.isNotBlank(address)) {
+                list.add(new SignEndpoint(address.trim(), constants.getSignBreakerFailures(),
+                    constants.getSignBreakerOpenMs()));
+            }
+        }
+        endpoints = Collections.unmodifiableList(list);
+        hedgeDelayMillis = constants.getSignHedgeMinDelayMs();
+        log.info("init sign client. servers:{} hedge:{} batch:{}", list.size(),
+            constants.isSignHedgeEnabled(), constants.isSignBatchEnabled());
+        if (constants.isSignBatchEnabled()) {
+            Thread batchThread = new Thread(this::dispatchBatch, "signBatch");
+            batchThread.setDaemon(true);
+            batchThread.start();
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        running = false;
+    }
+
+    /**
+     * get sign data of encoded transaction
+     */
+    public String sign(EncodeInfo encodeInfo) {
+        if (constants.isSignBatchEnabled()) {
+            PendingSign pendingSign = new PendingSign(encodeInfo);
+            batchQueue.offer(pendingSign);
+            return join(pendingSign.future);
+        }
+        SignEndpoint primary = choose(null);
+        if (!constants.isSignHedgeEnabled() || endpoints.size() < 2) {
+            return signWithFailover(primary, encodeInfo);
+        }
+        return signWithHedge(primary, encodeInfo);
+    }
+
+    /**
+     * address of available server to request other interfaces of webase-sign
+     */
+    public String getKeyServer() {
+        if (endpoints.isEmpty()) {
+            throw new FrontException(ConstantCode.NO_CONFIG_KEY_SERVER);
+        }
+        for (SignEndpoint endpoint : endpoints) {
+            if (endpoint.isClosed()) {
+                return endpoint.getAddress();
+            }
+        }
+        return endpoints.get(0).getAddress();
+    }
+
+    /**
+     * refresh hedge delay by p95 latency of last interval
+     */
+    @Scheduled(fixedDelay = 10000)
+    public synchronized void refreshHedgeDelay() {
+        latencyHistogram = latencyRecorder.getIntervalHistogram(latencyHistogram);
+        if (latencyHistogram.getTotalCount() >= MIN_HEDGE_SAMPLES) {
+            hedgeDelayMillis = Math.max(constants.getSignHedgeMinDelayMs(),
+                latencyHistogram.getValueAtPercentile(95));
+        }
+    }
+
+    public SignClientMetrics getMetrics() {
+        long now = System.currentTimeMillis();
+        List<SignEndpointMetrics> endpointMetricsList = new ArrayList<>(endpoints.size());
+        for (SignEndpoint endpoint : endpoints) {
+            SignEndpointMetrics endpointMetrics = new SignEndpointMetrics();
+            endpointMetrics.setAddress(endpoint.getAddress());
+            endpointMetrics.setState(endpoint.getState(now));
+            endpointMetrics.setEwmaMillis(endpoint.getEwmaMillis());
+            endpointMetrics.setRequestCount(endpoint.getRequestCount());
+            endpointMetrics.setFailureCount(endpoint.getFailureCount());
+            endpointMetricsList.add(endpointMetrics);
+        }
+        SignClientMetrics metrics = new SignClientMetrics();
+        metrics.setHedgeEnabled(constants.isSignHedgeEnabled());
+        metrics.setHedgeDelayMillis(hedgeDelayMillis);
+        metrics.setHedgedCount(hedgedCount.sum());
+        metrics.setBatchEnabled(constants.isSignBatchEnabled());
+        metrics.setBatchCount(batchCount.sum());
+        metrics.setEndpoints(endpointMetricsList);
+        return metrics;
+    }
+
+    /**
+     * choose server of least latency, a half open server is given one probe request first
+     *
+     * @param exclude server already requested
+     */
+    private SignEndpoint choose(SignEndpoint exclude) {
+        long now = System.currentTimeMillis();
+        SignEndpoint best = null;
+        for (SignEndpoint endpoint : endpoints) {
+            if (endpoint == exclude) {
+                continue;
+            }
+            if (!endpoint.isClosed()) {
+                if (endpoint.tryAcquire(now)) {
+                    return endpoint;
+                }
+                continue;
+            }
+            if (best == null || endpoint.getEwmaMillis() < best.getEwmaMillis()) {
+                best = endpoint;
+            }
+        }
+        if (best == null && exclude == null) {
+            log.error("no available webase-sign server. keyServer:{}", constants.getKeyServer());
+            throw new FrontException(ConstantCode.DATA_SIGN_NOT_ACCESSIBLE);
+        }
+        return best;
+    }
+
+    private String signWithFailover(SignEndpoint primary, EncodeInfo encodeInfo) {
+        try {
+            return signOn(primary, encodeInfo);
+        } catch (SignUnavailableException e) {
+            SignEndpoint backup = choose(primary);
+            if (backup == null) {
+                throw e;
+            }
+            log.warn("sign server {} unavailable, retry on {}", primary.getAddress(),
+                backup.getAddress());
+            return signOn(backup, encodeInfo);
+        }
+    }
+
+    /**
+     * request another server if primary has no response after hedge delay,
+     * signature from either server is valid
+     */
+    private String signWithHedge(SignEndpoint primary, EncodeInfo encodeInfo) {
+        CompletableFuture<String> first =
+            CompletableFuture.supplyAsync(() -> signOn(primary, encodeInfo), signExecutor);
+        try {
+            return first.get(hedgeDelayMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.debug("sign server {} no response in {}ms, hedge", primary.getAddress(),
+                hedgeDelayMillis);
+        } catch (ExecutionException e) {
+            if (!(e.getCause() instanceof SignUnavailableException)) {
+                throw unwrap(e.getCause());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FrontException(ConstantCode.DATA_SIGN_ERROR);
+        }
+        SignEndpoint backup = choose(primary);
+        if (backup == null) {
+            return join(first);
+        }
+        hedgedCount.increment();
+        CompletableFuture<String> second =
+            CompletableFuture.supplyAsync(() -> signOn(backup, encodeInfo), signExecutor);
+        return join(firstSuccess(first, second));
+    }
+
+    /**
+     * complete with first successful result, or the last error if both fail
+     */
+    private static CompletableFuture<String> firstSuccess(CompletableFuture<String> first,
+            CompletableFuture<String> second) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<String> future : new CompletableFuture[] {first, second}) {
+            future.whenComplete((signData, ex) -> {
+                if (ex == null) {
+                    result.complete(signData);
+                } else if (failures.incrementAndGet() == 2) {
+                    result.completeExceptionally(ex);
+                }
+            });
+        }
+        return result;
+    }
+
+    private String signOn(SignEndpoint endpoint, EncodeInfo encodeInfo) {
+        String url = String.format(Constants.WEBASE_SIGN_URI, endpoint.getAddress());
+        log.info("getSignData url:{}", url);
+        Object data = post(endpoint, url, JsonUtils.toJSONString(encodeInfo));
+        SignInfo signInfo = CommonUtils.object2JavaBean(data, SignInfo.class);
+        return checkSignData(signInfo);
+    }
+
+    /**
+     * post to webase-sign, server is marked failed when not accessible or 5xx
+     *
+     * @return data of response
+     */
+    private Object post(SignEndpoint endpoint, String url, String body) {
+        long startTime = System.currentTimeMillis();
+        try {
+            HttpHeaders headers = CommonUtils.buildHeaders();
+            HttpEntity<String> formEntity = new HttpEntity<>(body, headers);
+            BaseResponse response = restTemplate.postForObject(url, formEntity, BaseResponse.class);
+            long cost = System.currentTimeMillis() - startTime;
+            endpoint.onSuccess(cost);
+            latencyRecorder.recordValue(Math.min(cost, HIGHEST_MILLIS));
+            log.debug("getSignData response:{}", JsonUtils.toJSONString(response));
+            if (response.getCode() != 0) {
+                log.error("getSignData fail for error response:{}", response);
+                throw new FrontException(response.getCode(), response.getMessage());
+            }
+            return response.getData();
+        } catch (ResourceAccessException | HttpServerErrorException ex) {
+            log.error("getSignData fail restTemplateExchange. server:{}", endpoint.getAddress(), ex);
+            endpoint.onFailure(System.currentTimeMillis());
+            throw new SignUnavailableException();
+        } catch (HttpStatusCodeException e) {
+            endpoint.onSuccess(System.currentTimeMillis() - startTime);
+            JsonNode error = JsonUtils.stringToJsonNode(e.getResponseBodyAsString());
+            if (error == null) {
+                throw e;
+            }
+            log.error("getSignData http request fail. error:{}", JsonUtils.toJSONString(error));
+            // if return 404, no code or errorMessage
+            int code = error.get("code").intValue();
+            String errorMessage = error.get("errorMessage").asText();
+            throw new FrontException(code, errorMessage);
+        }
+    }
+
+    private static String checkSignData(SignInfo signInfo) {
+        String signDataStr = signInfo == null ? null : signInfo.getSignDataStr();
+        if (StringUtils.isBlank(signDataStr)) {
+            log.warn("get sign data error and get blank string.");
+            throw new FrontException(ConstantCode.DATA_SIGN_ERROR);
+        }
+        return signDataStr;
+    }
+
+    /**
+     * collect queued requests into batches of signBatchMaxSize,
+     * wait at most signBatchWaitMs for more requests
+     */
+    private void dispatchBatch() {
+        while (running) {
+            try {
+                PendingSign head = batchQueue.poll(BATCH_POLL_SECONDS, TimeUnit.SECONDS);
+                if (head == null) {
+                    continue;
+                }
+                int maxSize = Math.max(1, constants.getSignBatchMaxSize());
+                List<PendingSign> batch = new ArrayList<>(maxSize);
+                batch.add(head);
+                batchQueue.drainTo(batch, maxSize - 1);
+                long deadline = System.nanoTime()
+                    + TimeUnit.MILLISECONDS.toNanos(constants.getSignBatchWaitMs());
+                while (batch.size() < maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingSign next = remaining > 0
+                        ? batchQueue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    batchQueue.drainTo(batch, maxSize - batch.size());
+                }
+                signExecutor.execute(() -> signBatch(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("dispatch sign batch error", e);
+            }
+        }
+    }
+
+    private void signBatch(List<PendingSign> batch) {
+        try {
+            batchCount.increment();
+            List<EncodeInfo> encodeInfoList = new ArrayList<>(batch.size());
+            batch.forEach(pendingSign -> encodeInfoList.add(pendingSign.encodeInfo));
+            SignEndpoint endpoint = choose(null);
+            String url = String.format(Constants.WEBASE_SIGN_BATCH_URI, endpoint.getAddress());
+            log.info("getSignData batch url:{} size:{}", url, batch.size());
+            Object data = post(endpoint, url, JsonUtils.toJSONString(encodeInfoList));
+            List<SignInfo> signInfoList =
+                JsonUtils.toJavaObjectList(JsonUtils.toJSONString(data), SignInfo.class);
+            if (signInfoList == null || signInfoList.size() != batch.size()) {
+                log.error("sign batch fail for size not match. request:{}", batch.size());
+                throw new FrontException(ConstantCode.DATA_SIGN_ERROR);
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    batch.get(i).future.complete(checkSignData(signInfoList.get(i)));
+                } catch (FrontException e) {
+                    batch.get(i).future.completeExceptionally(e);
+                }
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(pendingSign -> pendingSign.future.completeExceptionally(e));
+        }
+    }
+
+    private static String join(CompletableFuture<String> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        log.error("sign fail.", cause);
+        return new FrontException(ConstantCode.DATA_SIGN_ERROR);
+    }
+
+    /**
+     * request waiting in batch queue
+     */
+    private static final class PendingSign {
+        private final EncodeInfo encodeInfo;
+        private final CompletableFuture<String> future = new CompletableFuture<>();
+
+        private PendingSign(EncodeInfo encodeInfo) {
+            this.encodeInfo = encodeInfo;
+        }
+    }
+
+    /**
+     * sign server not accessible, request can be retried on another server
+     */
+    private static final class SignUnavailableException extends FrontException {
+        private static final long serialVersionUID = 1L;
+
+        private SignUnavailableException() {
+            super(ConstantCode.DATA_SIGN_NOT_ACCESSIBLE);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.keystore;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+
+/**
+ * one server of webase-sign, with latency ewma and circuit breaker.
+ * breaker opens after continuous failures, and lets one probe request in after openMillis
+ */
+class SignEndpoint {
+
+    static final String STATE_CLOSED = "CLOSED";
+    static final String STATE_OPEN = "OPEN";
+    static final String STATE_HALF_OPEN = "HALF_OPEN";
+    private static final double EWMA_WEIGHT = 0.2;
+
+    @Getter
+    private final String address;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private volatile double ewmaMillis;
+    private final AtomicInteger continuousFailures = new AtomicInteger();
+    private final AtomicBoolean probing = new AtomicBoolean();
+    private volatile long openUntil;
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+
+    SignEndpoint(String address, int failureThreshold, long openMillis) {
+        this.address = address;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * closed endpoint is always available,
+     * half open endpoint is available to the first caller only
+     */
+    boolean tryAcquire(long now) {
+        if (openUntil == 0) {
+            return true;
+        }
+        return now >= openUntil && probing.compareAndSet(false, true);
+    }
+
+    boolean isClosed() {
+        return openUntil == 0;
+    }
+
+    synchronized void onSuccess(long costMillis) {
+        requestCount.increment();
+        ewmaMillis = ewmaMillis == 0 ? costMillis
+            : ewmaMillis * (1 - EWMA_WEIGHT) + costMillis * EWMA_WEIGHT;
+        continuousFailures.set(0);
+        openUntil = 0;
+        probing.set(false);
+    }
+
+    void onFailure(long now) {
+        requestCount.increment();
+        failureCount.increment();
+        if (probing.get() || continuousFailures.incrementAndGet() >= failureThreshold) {
+            openUntil = now + openMillis;
+            probing.set(false);
+        }
+    }
+
+    String getState(long now) {
+        if (openUntil == 0) {
+            return STATE_CLOSED;
+        }
+        return now < openUntil ? STATE_OPEN : STATE_HALF_OPEN;
+    }
+
+    double getEwmaMillis() {
+        return ewmaMillis;
+    }
+
+    long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    long getFailureCount() {
+        return failureCount.sum();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.metrics;
+
+import com.webank.webase.front.keystore.CredentialsCache;
+import com.webank.webase.front.keystore.SignClient;
+import com.webank.webase.front.metrics.entity.AdmissionMetrics;
+import com.webank.webase.front.metrics.entity.CacheMetrics;
+import com.webank.webase.front.metrics.entity.NodeRouteMetrics;
+import com.webank.webase.front.metrics.entity.SignClientMetrics;
+import com.webank.webase.front.metrics.entity.TransLatencyMetrics;
+import com.webank.webase.front.transaction.AdmissionControl;
+import com.webank.webase.front.transaction.ConstantCallCache;
+import com.webank.webase.front.transaction.FunctionDescriptorCache;
+import com.webank.webase.front.web3api.NodeRouter;
+import com.webank.webase.front.web3api.Web3Cache;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * metrics of front's caches and transactions
+ */
+@Api(value = "/metrics", tags = "metrics interface")
+@Slf4j
+@RestController
+@RequestMapping(value = "/metrics")
+public class MetricsController {
+
+    @Autowired
+    private ConstantCallCache constantCallCache;
+    @Autowired
+    private FunctionDescriptorCache functionDescriptorCache;
+    @Autowired
+    private CredentialsCache credentialsCache;
+    @Autowired
+    private SignClient signClient;
+    @Autowired
+    private AdmissionControl admissionControl;
+    @Autowired
+    private TransMetrics transMetrics;
+    @Autowired
+    private Web3Cache web3Cache;
+    @Autowired
+    private NodeRouter nodeRouter;
+
+    @ApiOperation(value = "get metrics of constant call cache", notes = "get metrics of constant call cache")
+    @GetMapping("/constantCallCache")
+    public CacheMetrics getConstantCallCacheMetrics() {
+        return CacheMetrics.of(constantCallCache.isEnabled(), constantCallCache.size(),
+            constantCallCache.stats());
+    }
+
+    @ApiOperation(value = "get metrics of block and transaction cache", notes = "get metrics of block, transaction and receipt cache")
+    @GetMapping("/web3Cache")
+    public CacheMetrics getWeb3CacheMetrics() {
+        return CacheMetrics.of(web3Cache.isEnabled(), web3Cache.size(), web3Cache.stats());
+    }
+
+    @ApiOperation(value = "get metrics of function cache", notes = "get metrics of function cache")
+    @GetMapping("/functionCache")
+    public CacheMetrics getFunctionCacheMetrics() {
+        return CacheMetrics.of(true, functionDescriptorCache.size(),
+            functionDescriptorCache.stats());
+    }
+
+    @ApiOperation(value = "get metrics of credentials cache", notes = "get metrics of credentials cache")
+    @GetMapping("/credentialsCache")
+    public CacheMetrics getCredentialsCacheMetrics() {
+        return CacheMetrics.of(credentialsCache.isEnabled(), credentialsCache.size(), credentialsCache.stats());
+    }
+
+    @ApiOperation(value = "get admission metrics of groups", notes = "in-flight transactions and rejected count of groups")
+    @GetMapping("/admission")
+    public List<AdmissionMetrics> getAdmissionMetrics() {
+        return admissionControl.getMetrics();
+    }
+
+    @ApiOperation(value = "get latency of transaction stages",
+        notes = "latency (ms) of each stage per group and interface, such as sign and node")
+    @GetMapping("/transactions")
+    public List<TransLatencyMetrics> getTransMetrics() {
+        return transMetrics.getMetrics();
+    }
+
+    @ApiOperation(value = "get metrics of webase-sign client",
+        notes = "latency, circuit breaker state of each sign server and hedged count")
+    @GetMapping("/signClient")
+    public SignClientMetrics getSignClientMetrics() {
+        return signClient.getMetrics();
+    }
+
+    @ApiOperation(value = "get metrics of node routing",
+        notes = "latency, block number and breaker state of each node of groups")
+    @GetMapping("/nodeRoute")
+    public List<NodeRouteMetrics> getNodeRouteMetrics() {
+        return nodeRouter.getMetrics();
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.metrics;
+
+import com.webank.webase.front.base.enums.TransEndpoint;
+import com.webank.webase.front.base.enums.TransStage;
+import com.webank.webase.front.base.properties.Constants;
+import com.webank.webase.front.metrics.entity.TransLatencyMetrics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.PostConstruct;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.fisco.bcos.web3j.protocol.Web3j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * latency histograms of transaction stages, per group and interface.
+ * recording is wait-free and allocation-free, histograms are merged when read.
+ * recorder of a stage is created on its first record, so unused stages cost nothing
+ */
+@Component
+public class TransMetrics {
+
+    /**
+     * trackable latency beyond transMaxWait, larger latency is recorded as the highest
+     */
+    private static final long HIGHEST_MARGIN_SECONDS = 30L;
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private static final int STAGE_COUNT = TransStage.values().length;
+    private static final TransEndpoint[] ENDPOINTS = TransEndpoint.values();
+    private static final TransStage[] STAGES = TransStage.values();
+    private static final int RECORDER_COUNT = ENDPOINTS.length * STAGE_COUNT;
+
+    @Autowired
+    private Map<Integer, Web3j> web3jMap;
+    @Autowired
+    private Constants constants;
+
+    private long highestMicros;
+    private final Map<Integer, AtomicReferenceArray<StageRecorder>> groupMap =
+        new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        highestMicros = TimeUnit.SECONDS.toMicros(constants.getTransMaxWait()
+            + HIGHEST_MARGIN_SECONDS);
+    }
+
+    /**
+     * record cost from startNanos (System.nanoTime) to now, ignored if group is not loaded
+     */
+    public void record(int groupId, TransEndpoint endpoint, TransStage stage, long startNanos) {
+        AtomicReferenceArray<StageRecorder> recorders = getRecorders(groupId);
+        if (recorders == null) {
+            return;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        int index = endpoint.ordinal() * STAGE_COUNT + stage.ordinal();
+        StageRecorder recorder = recorders.get(index);
+        if (recorder == null) {
+            recorders.compareAndSet(index, null, new StageRecorder(highestMicros));
+            recorder = recorders.get(index);
+        }
+        recorder.record(micros);
+    }
+
+    /**
+     * drop histograms of removed group
+     */
+    public void remove(int groupId) {
+        groupMap.remove(groupId);
+    }
+
+    public List<TransLatencyMetrics> getMetrics() {
+        List<TransLatencyMetrics> metricsList = new ArrayList<>();
+        groupMap.forEach((groupId, recorders) -> {
+            for (int i = 0; i < RECORDER_COUNT; i++) {
+                StageRecorder recorder = recorders.get(i);
+                if (recorder != null) {
+                    addMetrics(metricsList, groupId, i, recorder.snapshot());
+                }
+            }
+        });
+        return metricsList;
+    }
+
+    /**
+     * copy of histograms of group, as baseline of getMetricsSince
+     *
+     * @return histogram of stage not recorded yet is null
+     */
+    public Histogram[] snapshot(int groupId) {
+        Histogram[] histograms = new Histogram[RECORDER_COUNT];
+        AtomicReferenceArray<StageRecorder> recorders = groupMap.get(groupId);
+        if (recorders == null) {
+            return histograms;
+        }
+        for (int i = 0; i < RECORDER_COUNT; i++) {
+            StageRecorder recorder = recorders.get(i);
+            histograms[i] = recorder == null ? null : recorder.snapshot();
+        }
+        return histograms;
+    }
+
+    /**
+     * metrics of group recorded after baseline snapshot
+     */
+    public List<TransLatencyMetrics> getMetricsSince(int groupId, Histogram[] baseline) {
+        return getMetricsSince(groupId, null, baseline);
+    }
+
+    /**
+     * metrics of group recorded after baseline snapshot, of one endpoint if not null
+     */
+    public List<TransLatencyMetrics> getMetricsSince(int groupId, TransEndpoint endpoint,
+            Histogram[] baseline) {
+        Histogram[] histograms = snapshot(groupId);
+        List<TransLatencyMetrics> metricsList = new ArrayList<>();
+        for (int i = 0; i < histograms.length; i++) {
+            if (histograms[i] == null
+                    || (endpoint != null && ENDPOINTS[i / STAGE_COUNT] != endpoint)) {
+                continue;
+            }
+            if (baseline[i] != null) {
+                histograms[i].subtract(baseline[i]);
+            }
+            addMetrics(metricsList, groupId, i, histograms[i]);
+        }
+        return metricsList;
+    }
+
+    /**
+     * build metrics of histogram recorded in microsecond
+     */
+    public static TransLatencyMetrics toMetrics(int groupId, String endpoint, String stage,
+            Histogram histogram) {
+        TransLatencyMetrics metrics = new TransLatencyMetrics();
+        metrics.setGroupId(groupId);
+        metrics.setEndpoint(endpoint);
+        metrics.setStage(stage);
+        metrics.setCount(histogram.getTotalCount());
+        metrics.setMean(toMillis(histogram.getMean()));
+        metrics.setP50(toMillis(histogram.getValueAtPercentile(50)));
+        metrics.setP90(toMillis(histogram.getValueAtPercentile(90)));
+        metrics.setP99(toMillis(histogram.getValueAtPercentile(99)));
+        metrics.setP999(toMillis(histogram.getValueAtPercentile(99.9)));
+        metrics.setMax(toMillis(histogram.getMaxValue()));
+        return metrics;
+    }
+
+    private static void addMetrics(List<TransLatencyMetrics> metricsList, int groupId, int index,
+            Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return;
+        }
+        metricsList.add(toMetrics(groupId, ENDPOINTS[index / STAGE_COUNT].name(),
+            STAGES[index % STAGE_COUNT].name(), histogram));
+    }
+
+    /**
+     * recorders of group, only created for group in web3jMap
+     *
+     * @return null if group is not loaded
+     */
+    private AtomicReferenceArray<StageRecorder> getRecorders(int groupId) {
+        AtomicReferenceArray<StageRecorder> recorders = groupMap.get(groupId);
+        if (recorders == null && web3jMap.containsKey(groupId)) {
+            recorders = groupMap.computeIfAbsent(groupId,
+                k -> new AtomicReferenceArray<>(RECORDER_COUNT));
+        }
+        return recorders;
+    }
+
+    private static double toMillis(double micros) {
+        return micros / 1000;
+    }
+
+    /**
+     * recorder of one stage, interval histograms are added to total when read
+     */
+    private static final class StageRecorder {
+        private final long highestMicros;
+        private final Recorder recorder;
+        private final Histogram total;
+        private Histogram interval;
+
+        StageRecorder(long highestMicros) {
+            this.highestMicros = highestMicros;
+            this.recorder = new Recorder(highestMicros, SIGNIFICANT_DIGITS);
+            this.total = new Histogram(highestMicros, SIGNIFICANT_DIGITS);
+        }
+
+        void record(long micros) {
+            recorder.recordValue(Math.min(micros, highestMicros));
+        }
+
+        synchronized Histogram snapshot() {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            return total.copy();
+        }
+    }
+}
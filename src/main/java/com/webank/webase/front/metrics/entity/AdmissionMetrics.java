@@ -0,0 +1,32 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.metrics.entity;
+
+import lombok.Data;
+
+/**
+ * admission metrics of transactions of group
+ */
+@Data
+public class AdmissionMetrics {
+    private int groupId;
+    private int inFlight;
+    private int maxInFlight;
+    private long pendingTxSize;
+    private long pendingWatermark;
+    private long admittedCount;
+    private long rejectedCount;
+}
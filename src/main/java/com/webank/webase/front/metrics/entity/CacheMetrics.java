@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.metrics.entity;
+
+import com.google.common.cache.CacheStats;
+import lombok.Data;
+
+/**
+ * hit/miss metrics of cache
+ */
+@Data
+public class CacheMetrics {
+    private boolean enabled;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+
+    public static CacheMetrics of(boolean enabled, long size, CacheStats stats) {
+        CacheMetrics metrics = new CacheMetrics();
+        metrics.setEnabled(enabled);
+        metrics.setSize(size);
+        metrics.setHitCount(stats.hitCount());
+        metrics.setMissCount(stats.missCount());
+        metrics.setHitRate(stats.hitRate());
+        metrics.setEvictionCount(stats.evictionCount());
+        return metrics;
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.metrics.entity;
+
+import java.util.List;
+import lombok.Data;
+
+/**
+ * nodes of group which requests are routed to
+ */
+@Data
+public class NodeRouteMetrics {
+    private int groupId;
+    private List<NodeEndpointMetrics> endpoints;
+}
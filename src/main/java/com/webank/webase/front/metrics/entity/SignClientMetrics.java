@@ -0,0 +1,32 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.metrics.entity;
+
+import java.util.List;
+import lombok.Data;
+
+/**
+ * metrics of webase-sign client
+ */
+@Data
+public class SignClientMetrics {
+    private boolean hedgeEnabled;
+    private long hedgeDelayMillis;
+    private long hedgedCount;
+    private boolean batchEnabled;
+    private long batchCount;
+    private List<SignEndpointMetrics> endpoints;
+}
@@ -22,25 +22,29 @@ import com.webank.webase.front.performance.result.Data;
 import com.webank.webase.front.performance.result.LineDataList;
 import com.webank.webase.front.performance.result.PerformanceData;
 import com.webank.webase.front.util.CommonUtils;
+import com.webank.webase.front.util.FutureUtils;
+import com.webank.webase.front.web3api.BlockHeightTracker;
+import com.webank.webase.front.web3api.Web3ApiService;
 import java.io.File;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import lombok.extern.slf4j.Slf4j;
 import org.fisco.bcos.web3j.protocol.Web3j;
-import org.fisco.bcos.web3j.protocol.core.methods.response.BlockNumber;
 import org.fisco.bcos.web3j.protocol.core.methods.response.PbftView;
 import org.fisco.bcos.web3j.protocol.core.methods.response.PendingTxSize;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -58,11 +62,18 @@ public class MonitorService {
     @Autowired
     Map<Integer, Web3j> web3jMap;
     @Autowired
+    @Qualifier(value = "nodeQueryExecutor")
+    private ExecutorService nodeQueryExecutor;
+    @Autowired
     MonitorRepository monitorRepository;
     @Autowired
     Constants constants;
     @Autowired
     NodeConfig nodeConfig;
+    @Autowired
+    BlockHeightTracker blockHeightTracker;
+    @Autowired
+    Web3ApiService web3ApiService;
 
     public List<PerformanceData> findContrastDataByTime(int groupId, LocalDateTime startTime,
             LocalDateTime endTime, LocalDateTime contrastStartTime, LocalDateTime contrastEndTime,
@@ -189,35 +200,46 @@ public class MonitorService {
     }
 
     /**
-     * scheduled task to sync Monitor Info per 5s
-     * 
-     * @throws ExecutionException
-     * @throws InterruptedException
+     * scheduled task to sync Monitor Info per 5s.
+     * groups are queried concurrently, group not returned in groupQueryTimeoutMs is skipped
      */
     @Scheduled(cron = "0/5 * * * * ?")
-    public void syncMonitorInfo() throws ExecutionException, InterruptedException {
+    public void syncMonitorInfo() {
         log.debug("begin sync chain data");
         if (!constants.isMonitorEnabled()) {
             return;
         }
         Long currentTime = System.currentTimeMillis();
-        // to do add more group
-        for (Map.Entry<Integer, Web3j> entry : web3jMap.entrySet()) {
-            Monitor monitor = new Monitor();
-            CompletableFuture<BlockNumber> blockHeightFuture =
-                    entry.getValue().getBlockNumber().sendAsync();
-            CompletableFuture<PbftView> pbftViewFuture = entry.getValue().getPbftView().sendAsync();
-            CompletableFuture<PendingTxSize> pendingTxSizeFuture =
-                    entry.getValue().getPendingTxSize().sendAsync();
-
-            monitor.setBlockHeight(blockHeightFuture.get().getBlockNumber());
-            monitor.setPbftView(pbftViewFuture.get().getPbftView());
-            monitor.setPendingTransactionCount(pendingTxSizeFuture.get().getPendingTxSize());
-            monitor.setTimestamp(currentTime);
-            monitor.setGroupId(entry.getKey());
-            monitorRepository.save(monitor);
-            log.debug("insert success =  " + monitor.getId());
+        Map<Integer, CompletableFuture<Monitor>> futureMap = new HashMap<>();
+        for (Integer groupId : web3jMap.keySet()) {
+            futureMap.put(groupId, CompletableFuture.supplyAsync(
+                () -> queryMonitor(groupId, web3ApiService.getQueryWeb3j(groupId), currentTime),
+                nodeQueryExecutor));
+        }
+        long deadline = currentTime + constants.getGroupQueryTimeoutMs();
+        List<Monitor> monitorList = new ArrayList<>(futureMap.size());
+        for (Map.Entry<Integer, CompletableFuture<Monitor>> entry : futureMap.entrySet()) {
+            FutureUtils.getBefore(entry.getValue(), deadline,
+                "sync monitor of group " + entry.getKey()).ifPresent(monitorList::add);
         }
+        monitorRepository.save(monitorList);
+        log.debug("insert success count = " + monitorList.size());
+    }
+
+    /**
+     * @param web3j query web3j of group, so that requests end in groupQueryTimeoutMs
+     */
+    private Monitor queryMonitor(int groupId, Web3j web3j, Long currentTime) {
+        CompletableFuture<PbftView> pbftViewFuture = web3j.getPbftView().sendAsync();
+        CompletableFuture<PendingTxSize> pendingTxSizeFuture =
+            web3j.getPendingTxSize().sendAsync();
+        Monitor monitor = new Monitor();
+        monitor.setBlockHeight(blockHeightTracker.getBlockNumber(groupId, web3j));
+        monitor.setPbftView(pbftViewFuture.join().getPbftView());
+        monitor.setPendingTransactionCount(pendingTxSizeFuture.join().getPendingTxSize());
+        monitor.setTimestamp(currentTime);
+        monitor.setGroupId(groupId);
+        return monitor;
     }
 
     /**
@@ -19,6 +19,8 @@ import com.webank.webase.front.base.exception.FrontException;
 import com.webank.webase.front.base.response.BasePageResponse;
 import com.webank.webase.front.base.response.BaseResponse;
 import com.webank.webase.front.performance.entity.Performance;
+import com.webank.webase.front.performance.entity.ReqStress;
+import com.webank.webase.front.performance.entity.RspStressReport;
 import com.webank.webase.front.performance.entity.ToggleHandle;
 import com.webank.webase.front.performance.result.PerformanceData;
 import io.swagger.annotations.ApiImplicitParam;
@@ -41,6 +43,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Host monitor controller monitor of host computer's performance such as cpu, memory, disk etc.
@@ -52,6 +55,8 @@ public class PerformanceController {
 
     @Autowired
     private PerformanceService performanceService;
+    @Autowired
+    private StressService stressService;
 
     /**
      * query performance data.
@@ -140,4 +145,26 @@ public class PerformanceController {
         }
 
     }
+
+    @ApiOperation(value = "start stress test",
+        notes = "send transactions of contract in qps, stream progress and report as server sent events")
+    @PostMapping(value = "/stress")
+    public SseEmitter startStress(@RequestBody ReqStress req) {
+        log.info("startStress start. group:{} qps:{} total:{}", req.getGroupId(), req.getQps(),
+            req.getTotal());
+        return stressService.startStress(req);
+    }
+
+    @ApiOperation(value = "stop stress test", notes = "stop sending, report after sent finished")
+    @PostMapping(value = "/stress/stop")
+    public BaseResponse stopStress() {
+        boolean stopped = stressService.stopStress();
+        return new BaseResponse(ConstantCode.RET_SUCCEED, stopped);
+    }
+
+    @ApiOperation(value = "get report of last stress test", notes = "get report of last stress test")
+    @GetMapping(value = "/stress/report")
+    public RspStressReport getStressReport() {
+        return stressService.getLastReport();
+    }
 }
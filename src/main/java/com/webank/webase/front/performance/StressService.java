@@ -0,0 +1,331 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.performance;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.webank.webase.front.base.code.ConstantCode;
+import com.webank.webase.front.base.enums.TransEndpoint;
+import com.webank.webase.front.base.exception.FrontException;
+import com.webank.webase.front.base.properties.Constants;
+import com.webank.webase.front.contract.ContractService;
+import com.webank.webase.front.contract.entity.ReqDeploy;
+import com.webank.webase.front.metrics.TransMetrics;
+import com.webank.webase.front.performance.entity.ReqStress;
+import com.webank.webase.front.performance.entity.RspStressReport;
+import com.webank.webase.front.performance.entity.StressProgress;
+import com.webank.webase.front.transaction.TransService;
+import com.webank.webase.front.transaction.entity.ReqTransHandle;
+import com.webank.webase.front.transaction.entity.ReqTransHandleWithSign;
+import com.webank.webase.front.util.JsonUtils;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.commons.lang3.StringUtils;
+import org.fisco.bcos.web3j.protocol.core.methods.response.AbiDefinition;
+import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * stress test of transactions sent by front, one test at a time.
+ * progress is streamed as server sent events, and report is sent at the end
+ */
+@Slf4j
+@Service
+public class StressService {
+
+    private static final long PROGRESS_INTERVAL_MILLIS = 1000L;
+    private static final long EMITTER_TIMEOUT_MARGIN_SECONDS = 60L;
+    private static final String STRESS_ENDPOINT = "STRESS";
+    private static final String STRESS_STAGE = "TOTAL";
+
+    @Autowired
+    private Constants constants;
+    @Autowired
+    private TransService transService;
+    @Autowired
+    private ContractService contractService;
+    @Autowired
+    private TransMetrics transMetrics;
+
+    private final AtomicReference<StressTask> runningTask = new AtomicReference<>();
+    private volatile RspStressReport lastReport;
+
+    /**
+     * deploy contract if needed, and start sending transactions in background
+     */
+    public SseEmitter startStress(ReqStress req) {
+        if (!constants.isStressEnabled()) {
+            throw new FrontException(ConstantCode.STRESS_DISABLED);
+        }
+        checkParam(req);
+        StressTask task = new StressTask(req);
+        if (!runningTask.compareAndSet(null, task)) {
+            throw new FrontException(ConstantCode.STRESS_TASK_RUNNING);
+        }
+        try {
+            if (StringUtils.isBlank(req.getContractAddress())) {
+                req.setContractAddress(deploy(req));
+                log.info("stress deploy contract. address:{}", req.getContractAddress());
+            }
+            long timeoutSeconds = req.getTotal() / req.getQps() + constants.getTransMaxWait()
+                + EMITTER_TIMEOUT_MARGIN_SECONDS;
+            SseEmitter emitter = new SseEmitter(timeoutSeconds * 1000L);
+            Thread thread = new Thread(() -> task.run(emitter), "stress");
+            thread.setDaemon(true);
+            thread.start();
+            return emitter;
+        } catch (RuntimeException e) {
+            runningTask.set(null);
+            throw e;
+        }
+    }
+
+    /**
+     * stop sending, report is sent after sent transactions finished
+     */
+    public boolean stopStress() {
+        StressTask task = runningTask.get();
+        if (task == null) {
+            return false;
+        }
+        task.stopped = true;
+        return true;
+    }
+
+    public RspStressReport getLastReport() {
+        return lastReport;
+    }
+
+    private void checkParam(ReqStress req) {
+        boolean noUser = req.getUsers().isEmpty() && req.getSignUserIds().isEmpty();
+        if (req.getQps() <= 0 || req.getTotal() <= 0 || req.getConcurrency() <= 0 || noUser) {
+            throw new FrontException(ConstantCode.STRESS_PARAM_ERROR);
+        }
+        if (req.getConcurrency() > constants.getStressMaxConcurrency()) {
+            throw new FrontException(ConstantCode.STRESS_CONCURRENCY_EXCEED);
+        }
+        if (StringUtils.isBlank(req.getFuncName())) {
+            throw new FrontException(ConstantCode.IN_FUNCTION_ERROR);
+        }
+        if (StringUtils.isBlank(req.getContractAddress())
+                && StringUtils.isBlank(req.getBytecodeBin())) {
+            throw new FrontException(ConstantCode.CONTRACT_BIN_NULL);
+        }
+    }
+
+    private String deploy(ReqStress req) {
+        ReqDeploy reqDeploy = new ReqDeploy();
+        reqDeploy.setGroupId(req.getGroupId());
+        reqDeploy.setContractName(STRESS_ENDPOINT);
+        reqDeploy.setAbiInfo(JsonUtils.toJavaObjectList(
+            JsonUtils.toJSONString(req.getContractAbi()), AbiDefinition.class));
+        reqDeploy.setBytecodeBin(req.getBytecodeBin());
+        reqDeploy.setFuncParam(req.getDeployParam());
+        boolean doLocally = !req.getUsers().isEmpty();
+        if (doLocally) {
+            reqDeploy.setUser(req.getUsers().get(0));
+        } else {
+            reqDeploy.setSignUserId(req.getSignUserIds().get(0));
+        }
+        return contractService.caseDeploy(reqDeploy, doLocally);
+    }
+
+    /**
+     * send transactions of users in turn, limited by qps and concurrency
+     */
+    private final class StressTask {
+        private final ReqStress req;
+        private final LongAdder success = new LongAdder();
+        private final LongAdder fail = new LongAdder();
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        // auto resize, in microsecond
+        private final Recorder latencyRecorder = new Recorder(2);
+        private volatile boolean stopped;
+        private long sent;
+
+        private StressTask(ReqStress req) {
+            this.req = req;
+        }
+
+        /**
+         * task is cleared and emitter completed however sending ends
+         */
+        private void run(SseEmitter emitter) {
+            try {
+                sendAll(emitter);
+            } catch (RuntimeException e) {
+                log.error("stress fail. group:{}", req.getGroupId(), e);
+            } finally {
+                runningTask.set(null);
+                emitter.complete();
+            }
+        }
+
+        private void sendAll(SseEmitter emitter) {
+            int concurrency = req.getConcurrency();
+            ExecutorService senders = Executors.newFixedThreadPool(concurrency,
+                new DefaultThreadFactory("stressSender", true));
+            Semaphore inFlight = new Semaphore(concurrency);
+            RateLimiter rateLimiter = RateLimiter.create(req.getQps());
+            Histogram[] baseline = transMetrics.snapshot(req.getGroupId());
+            Histogram latency = new Histogram(2);
+            long startTime = System.currentTimeMillis();
+            long lastTime = startTime;
+            long lastDone = 0;
+            log.info("stress start. group:{} qps:{} concurrency:{} total:{}", req.getGroupId(),
+                req.getQps(), concurrency, req.getTotal());
+            try {
+                for (int i = 0; i < req.getTotal() && !stopped; i++) {
+                    rateLimiter.acquire();
+                    inFlight.acquire();
+                    final int index = i;
+                    sent++;
+                    senders.execute(() -> sendOne(index, inFlight));
+                    long now = System.currentTimeMillis();
+                    if (now - lastTime >= PROGRESS_INTERVAL_MILLIS) {
+                        long done = success.sum() + fail.sum();
+                        sendEvent(emitter, "progress", new StressProgress(now - startTime, sent,
+                            success.sum(), fail.sum(), (done - lastDone) * 1000.0 / (now - lastTime)));
+                        lastTime = now;
+                        lastDone = done;
+                    }
+                }
+                // wait for all sent finished
+                inFlight.acquire(concurrency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                senders.shutdown();
+            }
+            latency.add(latencyRecorder.getIntervalHistogram());
+            RspStressReport report = buildReport(System.currentTimeMillis() - startTime,
+                latency, baseline);
+            log.info("stress end. report:{}", JsonUtils.toJSONString(report));
+            lastReport = report;
+            sendEvent(emitter, "report", report);
+        }
+
+        private void sendOne(int index, Semaphore inFlight) {
+            long startNanos = System.nanoTime();
+            CompletableFuture<Object> future;
+            try {
+                future = send(index);
+            } catch (RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            future.whenComplete((result, ex) -> {
+                latencyRecorder.recordValue((System.nanoTime() - startNanos) / 1000);
+                recordResult(result, ex);
+                inFlight.release();
+            });
+        }
+
+        private CompletableFuture<Object> send(int index) {
+            List<String> users = req.getUsers();
+            if (!users.isEmpty()) {
+                ReqTransHandle reqTrans = new ReqTransHandle();
+                reqTrans.setGroupId(req.getGroupId());
+                reqTrans.setUser(users.get(index % users.size()));
+                reqTrans.setContractAddress(req.getContractAddress());
+                reqTrans.setContractAbi(req.getContractAbi());
+                reqTrans.setFuncName(req.getFuncName());
+                reqTrans.setFuncParam(req.getFuncParam());
+                return transService.transHandleLocal(reqTrans, TransEndpoint.STRESS);
+            }
+            List<String> signUserIds = req.getSignUserIds();
+            ReqTransHandleWithSign reqTrans = new ReqTransHandleWithSign();
+            reqTrans.setGroupId(req.getGroupId());
+            reqTrans.setSignUserId(signUserIds.get(index % signUserIds.size()));
+            reqTrans.setContractAddress(req.getContractAddress());
+            reqTrans.setContractAbi(req.getContractAbi());
+            reqTrans.setFuncName(req.getFuncName());
+            reqTrans.setFuncParam(req.getFuncParam());
+            return transService.transHandleWithSign(reqTrans, TransEndpoint.STRESS);
+        }
+
+        private void recordResult(Object result, Throwable ex) {
+            String error = null;
+            if (ex != null) {
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null
+                    ? ex.getCause() : ex;
+                error = cause instanceof FrontException
+                    && ((FrontException) cause).getRetCode() != null
+                    ? String.valueOf(((FrontException) cause).getRetCode().getCode())
+                    : cause.getClass().getSimpleName();
+            } else if (result instanceof TransactionReceipt
+                    && !((TransactionReceipt) result).isStatusOK()) {
+                error = "status:" + ((TransactionReceipt) result).getStatus();
+            }
+            if (error == null) {
+                success.increment();
+            } else {
+                fail.increment();
+                errors.computeIfAbsent(error, k -> new LongAdder()).increment();
+            }
+        }
+
+        private RspStressReport buildReport(long durationMs, Histogram latency,
+                Histogram[] baseline) {
+            RspStressReport report = new RspStressReport();
+            report.setGroupId(req.getGroupId());
+            report.setContractAddress(req.getContractAddress());
+            report.setQps(req.getQps());
+            report.setConcurrency(req.getConcurrency());
+            report.setTotal(req.getTotal());
+            report.setSent(sent);
+            report.setSuccess(success.sum());
+            report.setFail(fail.sum());
+            report.setStopped(stopped);
+            report.setDurationMs(durationMs);
+            report.setTps(durationMs == 0 ? 0 : success.sum() * 1000.0 / durationMs);
+            Map<String, Long> errorMap = new TreeMap<>();
+            errors.forEach((code, count) -> errorMap.put(code, count.sum()));
+            report.setErrors(errorMap);
+            report.setLatency(TransMetrics.toMetrics(req.getGroupId(), STRESS_ENDPOINT,
+                STRESS_STAGE, latency));
+            report.setStages(transMetrics.getMetricsSince(req.getGroupId(),
+                TransEndpoint.STRESS, baseline));
+            return report;
+        }
+
+        private void sendEvent(SseEmitter emitter, String name, Object data) {
+            try {
+                synchronized (emitter) {
+                    emitter.send(SseEmitter.event().name(name).data(data));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // client disconnected, keep running, report can be queried later
+                log.debug("send stress event fail. name:{} error:{}", name, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.performance.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * param of stress test.
+ * contract is deployed by bytecodeBin if contractAddress is empty,
+ * transactions are sent by local users, or by signUserIds through webase-sign
+ */
+@Data
+public class ReqStress {
+    private int groupId = 1;
+    private String contractAddress;
+    private List<Object> contractAbi = new ArrayList<>();
+    private String bytecodeBin;
+    private List<Object> deployParam = new ArrayList<>();
+    private String funcName;
+    private List<Object> funcParam = new ArrayList<>();
+    /**
+     * address of local users
+     */
+    private List<String> users = new ArrayList<>();
+    private List<String> signUserIds = new ArrayList<>();
+    private int qps;
+    /**
+     * max transactions waiting for receipt
+     */
+    private int concurrency = 10;
+    private int total;
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.performance.entity;
+
+import com.webank.webase.front.metrics.entity.TransLatencyMetrics;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+
+/**
+ * report of stress test
+ */
+@Data
+public class RspStressReport {
+    private int groupId;
+    private String contractAddress;
+    private int qps;
+    private int concurrency;
+    private int total;
+    private long sent;
+    private long success;
+    private long fail;
+    private boolean stopped;
+    private long durationMs;
+    private double tps;
+    /**
+     * count of fail by error code, or by receipt status
+     */
+    private Map<String, Long> errors;
+    /**
+     * latency from sending to result
+     */
+    private TransLatencyMetrics latency;
+    /**
+     * latency of each stage of transactions sent by the test
+     */
+    private List<TransLatencyMetrics> stages;
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.precompiledapi;
+
+import com.webank.webase.front.keystore.KeyStoreService;
+import com.webank.webase.front.web3api.Web3ApiService;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.fisco.bcos.web3j.crypto.Credentials;
+import org.fisco.bcos.web3j.protocol.Web3j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * per-group precompiled service clients with query account, such as CRUDService,
+ * reused by queries and rebuilt when web3j of group changed
+ */
+@Slf4j
+@Component
+public class PrecompiledClientPool {
+
+    @Autowired
+    private Web3ApiService web3ApiService;
+    @Autowired
+    private KeyStoreService keyStoreService;
+
+    private final Map<ClientKey, ClientHolder> clientMap = new ConcurrentHashMap<>();
+
+    /**
+     * get client of group, build by factory if absent
+     *
+     * @param clientType class of client
+     * @param factory constructor of client with web3j and credentials
+     */
+    public <T> T get(int groupId, Class<T> clientType, BiFunction<Web3j, Credentials, T> factory) {
+        Web3j web3j = web3ApiService.getWeb3j(groupId);
+        ClientKey key = new ClientKey(groupId, clientType);
+        ClientHolder holder = clientMap.get(key);
+        if (holder == null || holder.web3j != web3j) {
+            holder = clientMap.compute(key, (k, old) -> {
+                if (old != null && old.web3j == web3j) {
+                    return old;
+                }
+                log.info("build precompiled client. groupId:{} type:{}", groupId,
+                    clientType.getSimpleName());
+                return new ClientHolder(web3j,
+                    factory.apply(web3j, keyStoreService.getCredentialsForQuery()));
+            });
+        }
+        return clientType.cast(holder.client);
+    }
+
+    /**
+     * remove clients of group, called when web3j of group is removed
+     */
+    public void remove(int groupId) {
+        clientMap.keySet().removeIf(key -> key.groupId == groupId);
+    }
+
+    private static final class ClientKey {
+        private final int groupId;
+        private final Class<?> clientType;
+
+        ClientKey(int groupId, Class<?> clientType) {
+            this.groupId = groupId;
+            this.clientType = clientType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ClientKey)) {
+                return false;
+            }
+            ClientKey that = (ClientKey) o;
+            return groupId == that.groupId && clientType == that.clientType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(groupId, clientType);
+        }
+    }
+
+    private static final class ClientHolder {
+        private final Web3j web3j;
+        private final Object client;
+
+        ClientHolder(Web3j web3j, Object client) {
+            this.web3j = web3j;
+            this.client = client;
+        }
+    }
+}
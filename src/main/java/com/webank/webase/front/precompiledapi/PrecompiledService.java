@@ -17,7 +17,6 @@ import static com.webank.webase.front.util.PrecompiledUtils.NODE_TYPE_OBSERVER;
 import static com.webank.webase.front.util.PrecompiledUtils.NODE_TYPE_REMOVE;
 import static com.webank.webase.front.util.PrecompiledUtils.NODE_TYPE_SEALER;
 import com.webank.webase.front.base.properties.Constants;
-import com.webank.webase.front.keystore.KeyStoreService;
 import com.webank.webase.front.precompiledapi.entity.NodeInfo;
 import com.webank.webase.front.web3api.Web3ApiService;
 
@@ -46,7 +45,7 @@ public class PrecompiledService {
     @Autowired
     private Web3ApiService web3ApiService;
     @Autowired
-    private KeyStoreService keyStoreService;
+    private PrecompiledClientPool precompiledClientPool;
     @Autowired
     private PrecompiledWithSignService precompiledWithSignService;
 
@@ -54,22 +53,19 @@ public class PrecompiledService {
      * CNS config related
      */
     public List<CnsInfo> queryCnsByName(int groupId, String contractName) throws Exception {
-        CnsService cnsService = new CnsService(web3ApiService.getWeb3j(groupId),
-                keyStoreService.getCredentialsForQuery());
+        CnsService cnsService = precompiledClientPool.get(groupId, CnsService.class, CnsService::new);
         return cnsService.queryCnsByName(contractName);
     }
 
     public List<CnsInfo> queryCnsByNameAndVersion(int groupId, String contractName,
                                                   String version) throws Exception {
-        CnsService cnsService = new CnsService(web3ApiService.getWeb3j(groupId),
-                keyStoreService.getCredentialsForQuery());
+        CnsService cnsService = precompiledClientPool.get(groupId, CnsService.class, CnsService::new);
         return cnsService.queryCnsByNameAndVersion(contractName, version);
     }
 
     public String getAddressByContractNameAndVersion(int groupId, String contractName,
                                                   String version) {
-        CnsService cnsService = new CnsService(web3ApiService.getWeb3j(groupId),
-                keyStoreService.getCredentialsForQuery());
+        CnsService cnsService = precompiledClientPool.get(groupId, CnsService.class, CnsService::new);
         String contractNameAndVersion = contractName + Constants.SYMPOL + version;
         return cnsService.getAddressByContractNameAndVersion(contractNameAndVersion);
     }
@@ -153,8 +149,7 @@ public class PrecompiledService {
      * desc
      */
     public Table desc(int groupId, String tableName) throws Exception {
-        CRUDService crudService = new CRUDService(web3ApiService.getWeb3j(groupId),
-                keyStoreService.getCredentialsForQuery());
+        CRUDService crudService = precompiledClientPool.get(groupId, CRUDService.class, CRUDService::new);
         Table descRes = crudService.desc(tableName);
         return descRes;
     }
@@ -164,8 +159,7 @@ public class PrecompiledService {
      */
     public List<Map<String, String>> select(int groupId, Table table,
                                             Condition conditions) throws Exception {
-        CRUDService crudService = new CRUDService(web3ApiService.getWeb3j(groupId),
-                keyStoreService.getCredentialsForQuery());
+        CRUDService crudService = precompiledClientPool.get(groupId, CRUDService.class, CRUDService::new);
         List<Map<String, String>> selectRes = crudService.select(table, conditions);
         return selectRes;
     }
@@ -187,8 +181,7 @@ public class PrecompiledService {
     }
 
     public String contractStatus(int groupId, String contractAddress) throws Exception {
-        ContractStatusService contractStatusService = new ContractStatusService(
-                web3ApiService.getWeb3j(groupId), keyStoreService.getCredentialsForQuery());
+        ContractStatusService contractStatusService = precompiledClientPool.get(groupId, ContractStatusService.class, ContractStatusService::new);
         String res = contractStatusService.getStatus(contractAddress);
         if (res.contains("frozen")) {
             // res: The account has been frozen. You can use this account after unfreezing it.
@@ -203,8 +196,7 @@ public class PrecompiledService {
     }
 
     public String contractManagerList(int groupId, String contractAddress) throws Exception {
-        ContractStatusService contractStatusService = new ContractStatusService(
-                web3ApiService.getWeb3j(groupId), keyStoreService.getCredentialsForQuery());
+        ContractStatusService contractStatusService = precompiledClientPool.get(groupId, ContractStatusService.class, ContractStatusService::new);
         return contractStatusService.listManager(contractAddress);
     }
 }
@@ -16,11 +16,10 @@ package com.webank.webase.front.precompiledapi.permission;
 
 import com.webank.webase.front.base.code.RetCode;
 import com.webank.webase.front.base.exception.FrontException;
-import com.webank.webase.front.keystore.KeyStoreService;
+import com.webank.webase.front.precompiledapi.PrecompiledClientPool;
 import com.webank.webase.front.precompiledapi.PrecompiledWithSignService;
 import com.webank.webase.front.util.JsonUtils;
 import com.webank.webase.front.util.PrecompiledUtils;
-import com.webank.webase.front.web3api.Web3ApiService;
 import java.math.BigInteger;
 import java.util.List;
 import org.fisco.bcos.web3j.precompile.permission.ChainGovernanceService;
@@ -35,9 +34,7 @@ import org.springframework.stereotype.Service;
 @Service
 public class ChainGovernService {
     @Autowired
-    private Web3ApiService web3ApiService;
-    @Autowired
-    private KeyStoreService keyStoreService;
+    private PrecompiledClientPool precompiledClientPool;
     @Autowired
     private PrecompiledWithSignService precompiledWithSignService;
 
@@ -62,8 +59,7 @@ public class ChainGovernService {
      * 查询ChainCommittee 不需要发起交易
      */
     public List<PermissionInfo> listChainCommittee(int groupId) throws Exception {
-        ChainGovernanceService chainGovernanceService = new ChainGovernanceService(web3ApiService.getWeb3j(groupId),
-            keyStoreService.getCredentialsForQuery());
+        ChainGovernanceService chainGovernanceService = precompiledClientPool.get(groupId, ChainGovernanceService.class, ChainGovernanceService::new);
 
         return chainGovernanceService.listCommitteeMembers();
     }
@@ -79,8 +75,7 @@ public class ChainGovernService {
 
     public BigInteger queryChainCommitteeWeight(int groupId, String userAddress)
         throws Exception {
-        ChainGovernanceService chainGovernanceService = new ChainGovernanceService(web3ApiService.getWeb3j(groupId),
-            keyStoreService.getCredentialsForQuery());
+        ChainGovernanceService chainGovernanceService = precompiledClientPool.get(groupId, ChainGovernanceService.class, ChainGovernanceService::new);
 
         Tuple2<Boolean, BigInteger> res = chainGovernanceService.queryCommitteeMemberWeight(userAddress);
         if (res.getValue1()) {
@@ -101,8 +96,7 @@ public class ChainGovernService {
     }
 
     public BigInteger queryThreshold(int groupId) throws Exception {
-        ChainGovernanceService chainGovernanceService = new ChainGovernanceService(web3ApiService.getWeb3j(groupId),
-            keyStoreService.getCredentialsForQuery());
+        ChainGovernanceService chainGovernanceService = precompiledClientPool.get(groupId, ChainGovernanceService.class, ChainGovernanceService::new);
 
         return chainGovernanceService.queryThreshold();
     }
@@ -124,8 +118,7 @@ public class ChainGovernService {
      * 查询Operator
      */
     public List<PermissionInfo> listOperator(int groupId) throws Exception {
-        ChainGovernanceService chainGovernanceService = new ChainGovernanceService(web3ApiService.getWeb3j(groupId),
-            keyStoreService.getCredentialsForQuery());
+        ChainGovernanceService chainGovernanceService = precompiledClientPool.get(groupId, ChainGovernanceService.class, ChainGovernanceService::new);
 
         return chainGovernanceService.listOperators();
     }
@@ -150,8 +143,7 @@ public class ChainGovernService {
      * @return code of status
      */
     public String getAccountStatus(int groupId, String userAddress) throws Exception {
-        ChainGovernanceService chainGovernanceService = new ChainGovernanceService(web3ApiService.getWeb3j(groupId),
-            keyStoreService.getCredentialsForQuery());
+        ChainGovernanceService chainGovernanceService = precompiledClientPool.get(groupId, ChainGovernanceService.class, ChainGovernanceService::new);
         String res = chainGovernanceService.getAccountStatus(userAddress);
         if (res.contains("frozen")) {
             // res: The account has been frozen. You can use this account after unfreezing it.
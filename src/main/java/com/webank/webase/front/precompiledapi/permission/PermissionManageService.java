@@ -15,12 +15,11 @@ package com.webank.webase.front.precompiledapi.permission;
 
 import com.webank.webase.front.base.code.ConstantCode;
 import com.webank.webase.front.base.exception.FrontException;
-import com.webank.webase.front.keystore.KeyStoreService;
+import com.webank.webase.front.precompiledapi.PrecompiledClientPool;
 import com.webank.webase.front.precompiledapi.PrecompiledWithSignService;
 import com.webank.webase.front.precompiledapi.entity.PermissionState;
 import com.webank.webase.front.util.JsonUtils;
 import com.webank.webase.front.util.PrecompiledUtils;
-import com.webank.webase.front.web3api.Web3ApiService;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,9 +39,7 @@ import org.springframework.stereotype.Service;
 @Service
 public class PermissionManageService {
     @Autowired
-    private Web3ApiService web3ApiService;
-    @Autowired
-    private KeyStoreService keyStoreService;
+    private PrecompiledClientPool precompiledClientPool;
     @Autowired
     private PrecompiledWithSignService precompiledWithSignService;
     /**
@@ -322,8 +319,7 @@ public class PermissionManageService {
      */
     public List<PermissionInfo> listPermissionManager(int groupId) {
 
-        PermissionService permissionService = new PermissionService(web3ApiService.getWeb3j(groupId),
-                keyStoreService.getCredentialsForQuery());
+        PermissionService permissionService = precompiledClientPool.get(groupId, PermissionService.class, PermissionService::new);
         try {
             return permissionService.listPermissionManager();
         } catch (Exception e) {
@@ -350,8 +346,7 @@ public class PermissionManageService {
     }
 
     public List<PermissionInfo> listDeployAndCreateManager(int groupId) {
-        PermissionService permissionService = new PermissionService(web3ApiService.getWeb3j(groupId),
-                keyStoreService.getCredentialsForQuery());
+        PermissionService permissionService = precompiledClientPool.get(groupId, PermissionService.class, PermissionService::new);
         try{
             return permissionService.listDeployAndCreateManager();
         } catch (Exception e) {
@@ -368,8 +363,7 @@ public class PermissionManageService {
     public Object grantUserTableManager(int groupId, String signUserId, String tableName,
             String userAddress) throws Exception {
         // CRUD.desc to check table exists
-        CRUDService crudService = new CRUDService(web3ApiService.getWeb3j(groupId),
-                keyStoreService.getCredentialsForQuery());
+        CRUDService crudService = precompiledClientPool.get(groupId, CRUDService.class, CRUDService::new);
         crudService.desc(tableName);
         String res = precompiledWithSignService.grant(groupId, signUserId, tableName, userAddress);
         return res;
@@ -383,8 +377,7 @@ public class PermissionManageService {
 
     public List<PermissionInfo> listUserTableManager(int groupId, String tableName) {
 
-        PermissionService permissionService = new PermissionService(web3ApiService.getWeb3j(groupId),
-                keyStoreService.getCredentialsForQuery());
+        PermissionService permissionService = precompiledClientPool.get(groupId, PermissionService.class, PermissionService::new);
         try {
             return permissionService.listUserTableManager(tableName);
         } catch (Exception e) {
@@ -413,8 +406,7 @@ public class PermissionManageService {
     }
 
     public List<PermissionInfo> listNodeManager(int groupId) {
-        PermissionService permissionService = new PermissionService(web3ApiService.getWeb3j(groupId),
-                keyStoreService.getCredentialsForQuery());
+        PermissionService permissionService = precompiledClientPool.get(groupId, PermissionService.class, PermissionService::new);
         try {
             return permissionService.listNodeManager();
         } catch (Exception e) {
@@ -443,8 +435,7 @@ public class PermissionManageService {
     }
 
     public List<PermissionInfo> listSysConfigManager(int groupId) {
-        PermissionService permissionService = new PermissionService(web3ApiService.getWeb3j(groupId),
-                keyStoreService.getCredentialsForQuery());
+        PermissionService permissionService = precompiledClientPool.get(groupId, PermissionService.class, PermissionService::new);
         try {
             return permissionService.listSysConfigManager();
         } catch (Exception e) {
@@ -471,8 +462,7 @@ public class PermissionManageService {
     }
 
     public List<PermissionInfo> listCNSManager(int groupId) {
-        PermissionService permissionService = new PermissionService(web3ApiService.getWeb3j(groupId),
-                keyStoreService.getCredentialsForQuery());
+        PermissionService permissionService = precompiledClientPool.get(groupId, PermissionService.class, PermissionService::new);
         try {
             return permissionService.listCNSManager();
         } catch (Exception e) {
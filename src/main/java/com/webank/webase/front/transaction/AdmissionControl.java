@@ -0,0 +1,147 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.transaction;
+
+import com.webank.webase.front.base.code.ConstantCode;
+import com.webank.webase.front.base.exception.FrontException;
+import com.webank.webase.front.base.properties.Constants;
+import com.webank.webase.front.metrics.entity.AdmissionMetrics;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.fisco.bcos.web3j.protocol.Web3j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * admission control of transactions per group.
+ * reject new transaction fast when in-flight transactions of group reach admissionMaxInFlight,
+ * or node's pending tx size reach admissionPendingWatermark
+ */
+@Slf4j
+@Component
+public class AdmissionControl {
+
+    @Autowired
+    private Constants constants;
+    @Autowired
+    private Map<Integer, Web3j> web3jMap;
+
+    private final Map<Integer, GroupAdmission> groupMap = new ConcurrentHashMap<>();
+
+    /**
+     * run task if admitted, the permit is released when future of task completed,
+     * so the future must be completed in limited time, such as by trans timer
+     *
+     * @param task send transaction and return future of receipt
+     */
+    public <T> CompletableFuture<T> submit(int groupId, Supplier<CompletableFuture<T>> task) {
+        if (!constants.isAdmissionEnabled()) {
+            return task.get();
+        }
+        GroupAdmission admission = acquire(groupId);
+        CompletableFuture<T> future;
+        try {
+            future = task.get();
+        } catch (RuntimeException e) {
+            admission.inFlight.decrementAndGet();
+            throw e;
+        }
+        future.whenComplete((result, ex) -> admission.inFlight.decrementAndGet());
+        return future;
+    }
+
+    /**
+     * refresh pending tx size of node
+     */
+    @Scheduled(fixedDelayString = "${constant.admissionPendingRefreshMs:1000}")
+    public void refreshPendingTxSize() {
+        if (!constants.isAdmissionEnabled() || constants.getAdmissionPendingWatermark() <= 0) {
+            return;
+        }
+        for (Map.Entry<Integer, Web3j> entry : web3jMap.entrySet()) {
+            GroupAdmission admission = getGroupAdmission(entry.getKey());
+            entry.getValue().getPendingTxSize().sendAsync().whenComplete((rsp, ex) -> {
+                if (ex != null || rsp == null || rsp.getResult() == null) {
+                    log.warn("refresh pending tx size fail. groupId:{}", entry.getKey(), ex);
+                    return;
+                }
+                BigInteger pendingTxSize = rsp.getPendingTxSize();
+                admission.pendingTxSize.set(pendingTxSize.longValue());
+            });
+        }
+    }
+
+    public List<AdmissionMetrics> getMetrics() {
+        List<AdmissionMetrics> metricsList = new ArrayList<>();
+        groupMap.forEach((groupId, admission) -> {
+            AdmissionMetrics metrics = new AdmissionMetrics();
+            metrics.setGroupId(groupId);
+            metrics.setInFlight(admission.inFlight.get());
+            metrics.setMaxInFlight(constants.getAdmissionMaxInFlight());
+            metrics.setPendingTxSize(admission.pendingTxSize.get());
+            metrics.setPendingWatermark(constants.getAdmissionPendingWatermark());
+            metrics.setAdmittedCount(admission.admitted.sum());
+            metrics.setRejectedCount(admission.rejected.sum());
+            metricsList.add(metrics);
+        });
+        return metricsList;
+    }
+
+    private GroupAdmission acquire(int groupId) {
+        GroupAdmission admission = getGroupAdmission(groupId);
+        long watermark = constants.getAdmissionPendingWatermark();
+        if (watermark > 0 && admission.pendingTxSize.get() >= watermark) {
+            admission.rejected.increment();
+            log.warn("transaction rejected for pending tx size. groupId:{} pending:{}", groupId,
+                admission.pendingTxSize.get());
+            throw new FrontException(ConstantCode.TRANS_OVERLOADED);
+        }
+        int limit = constants.getAdmissionMaxInFlight();
+        int current;
+        do {
+            current = admission.inFlight.get();
+            if (current >= limit) {
+                admission.rejected.increment();
+                log.warn("transaction rejected for in-flight limit. groupId:{} inFlight:{}",
+                    groupId, current);
+                throw new FrontException(ConstantCode.TRANS_OVERLOADED);
+            }
+        } while (!admission.inFlight.compareAndSet(current, current + 1));
+        admission.admitted.increment();
+        return admission;
+    }
+
+    private GroupAdmission getGroupAdmission(int groupId) {
+        return groupMap.computeIfAbsent(groupId, k -> new GroupAdmission());
+    }
+
+    private static final class GroupAdmission {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong pendingTxSize = new AtomicLong();
+        private final LongAdder admitted = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.transaction;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.webank.webase.front.base.properties.Constants;
+import com.webank.webase.front.web3api.BlockHeightTracker;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * cache of constant call's output, valid in the block it was read at.
+ * block height of group is pushed by block notify, entries of group are dropped on new block;
+ * group without block notify yet is not cached
+ */
+@Slf4j
+@Component
+public class ConstantCallCache {
+
+    /**
+     * estimated bytes of key and entry object besides strings
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+    private static final long UNKNOWN_HEIGHT = BlockHeightTracker.UNKNOWN_HEIGHT;
+
+    @Autowired
+    private Constants constants;
+    @Autowired
+    private BlockHeightTracker blockHeightTracker;
+
+    private Cache<CallKey, CallOutput> cache;
+    /**
+     * entries found at old block, counted as hit by cache but returned as miss
+     */
+    private final LongAdder staleCount = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        cache = CacheBuilder.newBuilder()
+            .maximumWeight(constants.getConstantCallCacheMaxBytes())
+            .weigher((CallKey key, CallOutput value) -> key.weight() + value.weight())
+            .recordStats()
+            .build();
+        log.info("*****init constantCallCache enabled:{} maxBytes:{}",
+            constants.isConstantCallCacheEnabled(), constants.getConstantCallCacheMaxBytes());
+    }
+
+    public boolean isEnabled() {
+        return constants.isConstantCallCacheEnabled();
+    }
+
+    /**
+     * block height of group known by block notify, -1 if unknown
+     */
+    public long getBlockHeight(int groupId) {
+        return blockHeightTracker.isNotified(groupId)
+            ? blockHeightTracker.getBlockHeight(groupId) : UNKNOWN_HEIGHT;
+    }
+
+    /**
+     * get output cached at current block height
+     *
+     * @param from null if output is irrelevant to sender
+     * @return null if not cached
+     */
+    public String get(int groupId, String contractAddress, String from, String callData) {
+        if (!isEnabled()) {
+            return null;
+        }
+        CallKey key = new CallKey(groupId, contractAddress, from, callData);
+        CallOutput output = cache.getIfPresent(key);
+        if (output == null) {
+            return null;
+        }
+        if (output.blockNumber != getBlockHeight(groupId)) {
+            staleCount.increment();
+            cache.invalidate(key);
+            return null;
+        }
+        return output.output;
+    }
+
+    /**
+     * cache output read at blockNumber, which is getBlockHeight() before the call.
+     * ignored if block height changed during the call
+     */
+    public void put(int groupId, String contractAddress, String from, String callData,
+            long blockNumber, String output) {
+        if (!isEnabled() || output == null || blockNumber == UNKNOWN_HEIGHT
+                || blockNumber != getBlockHeight(groupId)) {
+            return;
+        }
+        cache.put(new CallKey(groupId, contractAddress, from, callData),
+            new CallOutput(blockNumber, output));
+    }
+
+    /**
+     * drop entries of group when its block height increased
+     */
+    public void onNewBlock(int groupId) {
+        if (isEnabled()) {
+            cache.asMap().keySet().removeIf(key -> key.groupId == groupId);
+        }
+    }
+
+    /**
+     * stats of cache, with entries at old block counted as miss
+     */
+    public CacheStats stats() {
+        long stale = staleCount.sum();
+        return cache.stats().minus(new CacheStats(stale, 0, 0, 0, 0, 0))
+            .plus(new CacheStats(0, stale, 0, 0, 0, 0));
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    private static final class CallKey {
+        private final int groupId;
+        private final String contractAddress;
+        private final String from;
+        private final String callData;
+        private final int hash;
+
+        CallKey(int groupId, String contractAddress, String from, String callData) {
+            this.groupId = groupId;
+            this.contractAddress = contractAddress == null ? null : contractAddress.toLowerCase();
+            this.from = from == null ? null : from.toLowerCase();
+            this.callData = callData;
+            this.hash = Objects.hash(groupId, this.contractAddress, this.from, callData);
+        }
+
+        int weight() {
+            return ENTRY_OVERHEAD_BYTES + length(contractAddress) + length(from) + length(callData);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CallKey)) {
+                return false;
+            }
+            CallKey that = (CallKey) o;
+            return groupId == that.groupId && hash == that.hash
+                && Objects.equals(contractAddress, that.contractAddress)
+                && Objects.equals(from, that.from) && Objects.equals(callData, that.callData);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class CallOutput {
+        private final long blockNumber;
+        private final String output;
+
+        CallOutput(long blockNumber, String output) {
+            this.blockNumber = blockNumber;
+            this.output = output;
+        }
+
+        int weight() {
+            return length(output);
+        }
+    }
+
+    private static int length(String str) {
+        // 2 bytes per char
+        return str == null ? 0 : str.length() * 2;
+    }
+}
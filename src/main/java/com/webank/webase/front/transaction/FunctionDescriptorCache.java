@@ -0,0 +1,157 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.transaction;
+
+import static com.webank.webase.front.base.code.ConstantCode.IN_FUNCTION_ERROR;
+import static com.webank.webase.front.util.ContractAbiUtil.STATE_MUTABILITY_PURE;
+import static com.webank.webase.front.util.ContractAbiUtil.STATE_MUTABILITY_VIEW;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.webank.webase.front.base.exception.FrontException;
+import com.webank.webase.front.base.properties.Constants;
+import com.webank.webase.front.transaction.entity.FunctionDescriptor;
+import com.webank.webase.front.util.AbiUtil;
+import com.webank.webase.front.util.JsonUtils;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.fisco.bcos.web3j.abi.TypeReference;
+import org.fisco.bcos.web3j.abi.datatypes.Type;
+import org.fisco.bcos.web3j.protocol.core.methods.response.AbiDefinition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * cache of FunctionDescriptor by (abi content, function name),
+ * avoid parsing abi and building types on every transaction
+ */
+@Slf4j
+@Component
+public class FunctionDescriptorCache {
+
+    @Autowired
+    private Constants constants;
+
+    private Cache<FunctionKey, FunctionDescriptor> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = CacheBuilder.newBuilder()
+            .maximumSize(constants.getFunctionCacheSize())
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * get descriptor by abi of json list.
+     * key is the abi list itself, compared by content
+     */
+    public FunctionDescriptor get(List<Object> contractAbi, String funcName) {
+        return get(new FunctionKey(contractAbi, funcName),
+            () -> AbiUtil.getAbiDefinition(funcName, JsonUtils.toJSONString(contractAbi)));
+    }
+
+    /**
+     * get descriptor by abi of json string.
+     */
+    public FunctionDescriptor get(String contractAbi, String funcName) {
+        return get(new FunctionKey(contractAbi, funcName),
+            () -> TransService.getFunctionAbiDefinition(funcName, contractAbi));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    private FunctionDescriptor get(FunctionKey key, Callable<AbiDefinition> abiLoader) {
+        if (key.funcName == null) {
+            throw new FrontException(IN_FUNCTION_ERROR);
+        }
+        try {
+            return cache.get(key, () -> build(key.funcName, abiLoader.call()));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof FrontException) {
+                throw (FrontException) e.getCause();
+            }
+            log.error("build function descriptor error. func:{}", key.funcName, e.getCause());
+            throw new FrontException(IN_FUNCTION_ERROR);
+        }
+    }
+
+    private static FunctionDescriptor build(String funcName, AbiDefinition abiDefinition) {
+        // function not exist is not cached
+        if (Objects.isNull(abiDefinition)) {
+            log.warn("transaction fail. func:{} is not existed", funcName);
+            throw new FrontException(IN_FUNCTION_ERROR);
+        }
+        List<String> funcInputTypes = AbiUtil.getFuncInputType(abiDefinition);
+        List<Class<? extends Type>> inputClasses = AbiUtil.getInputClasses(funcInputTypes);
+        List<String> funOutputTypes = AbiUtil.getFuncOutputType(abiDefinition);
+        List<TypeReference<?>> finalOutputs = AbiUtil.outputFormat(funOutputTypes);
+        // fit in solidity 0.6
+        boolean isConstant = (STATE_MUTABILITY_VIEW.equals(abiDefinition.getStateMutability())
+            || STATE_MUTABILITY_PURE.equals(abiDefinition.getStateMutability()));
+        return new FunctionDescriptor(funcName, isConstant,
+            Collections.unmodifiableList(funcInputTypes),
+            Collections.unmodifiableList(inputClasses),
+            Collections.unmodifiableList(funOutputTypes),
+            Collections.unmodifiableList(finalOutputs));
+    }
+
+    /**
+     * key of abi content and function name
+     */
+    private static final class FunctionKey {
+        private final Object abi;
+        private final String funcName;
+        private final int hash;
+
+        FunctionKey(Object abi, String funcName) {
+            this.abi = abi;
+            this.funcName = funcName;
+            this.hash = 31 * Objects.hashCode(abi) + Objects.hashCode(funcName);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FunctionKey)) {
+                return false;
+            }
+            FunctionKey that = (FunctionKey) o;
+            return hash == that.hash && Objects.equals(funcName, that.funcName)
+                && Objects.equals(abi, that.abi);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
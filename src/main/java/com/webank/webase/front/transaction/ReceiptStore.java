@@ -0,0 +1,198 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.transaction;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.webank.webase.front.base.properties.Constants;
+import com.webank.webase.front.transaction.entity.ReceiptRecord;
+import com.webank.webase.front.transaction.entity.RspReceiptStatus;
+import com.webank.webase.front.util.JsonUtils;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * receipts of transactions submitted through front, kept in memory with ttl,
+ * receipt evicted from memory is spilled to db if receiptSpillEnabled
+ */
+@Slf4j
+@Component
+public class ReceiptStore {
+
+    @Autowired
+    private Constants constants;
+    @Autowired
+    private ReceiptRecordRepository receiptRecordRepository;
+    @Autowired
+    @Qualifier(value = "transTimer")
+    private Timer transTimer;
+
+    private Cache<String, PendingReceipt> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = CacheBuilder.newBuilder()
+            .maximumSize(constants.getReceiptStoreMaxSize())
+            .expireAfterWrite(constants.getReceiptStoreTtl(), TimeUnit.SECONDS)
+            .removalListener(this::onRemoval)
+            .build();
+        log.info("*****init receiptStore maxSize:{} ttl:{}s spill:{}",
+            constants.getReceiptStoreMaxSize(), constants.getReceiptStoreTtl(),
+            constants.isReceiptSpillEnabled());
+    }
+
+    /**
+     * register transaction before sending, future is completed by receipt callback.
+     * if same transaction registered before, it is kept unless it failed to send
+     * or has no receipt after transMaxWait, so duplicate one is not sent to node again
+     *
+     * @return future of transaction registered before, or null if registered
+     */
+    public CompletableFuture<TransactionReceipt> registerIfAbsent(int groupId, String transHash,
+            CompletableFuture<TransactionReceipt> future) {
+        PendingReceipt pending = new PendingReceipt(groupId, future);
+        long staleTime = System.currentTimeMillis() - constants.getTransMaxWait() * 1000L;
+        PendingReceipt current = cache.asMap().compute(transHash,
+            (key, previous) -> previous == null || previous.canResend(staleTime)
+                ? pending : previous);
+        return current == pending ? null : current.future;
+    }
+
+    /**
+     * wait for receipts until all returned or waitMs passed.
+     * transactions not registered or expired are returned as unknown directly
+     *
+     * @return future of status list in order of transHashList
+     */
+    public CompletableFuture<List<RspReceiptStatus>> awaitReceipts(List<String> transHashList,
+            long waitMs) {
+        List<CompletableFuture<?>> futureList = new ArrayList<>(transHashList.size());
+        for (String transHash : transHashList) {
+            futureList.add(lookup(transHash.toLowerCase()));
+        }
+        CompletableFuture<List<RspReceiptStatus>> result = new CompletableFuture<>();
+        Timeout timeout = transTimer.newTimeout(
+            t -> result.complete(snapshot(transHashList, futureList)),
+            Math.max(0, waitMs), TimeUnit.MILLISECONDS);
+        CompletableFuture
+            .allOf(futureList.stream().filter(f -> f != null)
+                .toArray(CompletableFuture[]::new))
+            .whenComplete((v, ex) -> result.complete(snapshot(transHashList, futureList)));
+        result.whenComplete((list, ex) -> timeout.cancel());
+        return result;
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * delete spilled receipts after receiptSpillTtl
+     */
+    @Scheduled(cron = "0 0 * * * ?")
+    public void deleteExpiredRecords() {
+        if (!constants.isReceiptSpillEnabled()) {
+            return;
+        }
+        long expireTime = System.currentTimeMillis() - constants.getReceiptSpillTtl() * 1000L;
+        int count = receiptRecordRepository.deleteTimeAgo(expireTime);
+        log.info("delete expired receipt record count:{}", count);
+    }
+
+    /**
+     * future of receipt in memory, or completed future of receipt in db, or null
+     */
+    private CompletableFuture<?> lookup(String transHash) {
+        PendingReceipt pending = cache.getIfPresent(transHash);
+        if (pending != null) {
+            return pending.future;
+        }
+        if (constants.isReceiptSpillEnabled()) {
+            ReceiptRecord record = receiptRecordRepository.findOne(transHash);
+            if (record != null) {
+                return CompletableFuture.completedFuture(JsonUtils.toMap(record.getReceipt()));
+            }
+        }
+        return null;
+    }
+
+    private static List<RspReceiptStatus> snapshot(List<String> transHashList,
+            List<CompletableFuture<?>> futureList) {
+        List<RspReceiptStatus> statusList = new ArrayList<>(transHashList.size());
+        for (int i = 0; i < transHashList.size(); i++) {
+            CompletableFuture<?> future = futureList.get(i);
+            String status;
+            Object receipt = null;
+            if (future == null) {
+                status = RspReceiptStatus.STATUS_UNKNOWN;
+            } else if (!future.isDone()) {
+                status = RspReceiptStatus.STATUS_PENDING;
+            } else if (future.isCompletedExceptionally()) {
+                status = RspReceiptStatus.STATUS_FAILED;
+            } else {
+                status = RspReceiptStatus.STATUS_DONE;
+                receipt = future.join();
+            }
+            statusList.add(new RspReceiptStatus(transHashList.get(i), status, receipt));
+        }
+        return statusList;
+    }
+
+    private void onRemoval(RemovalNotification<String, PendingReceipt> notification) {
+        PendingReceipt pending = notification.getValue();
+        if (!notification.wasEvicted() || !constants.isReceiptSpillEnabled() || pending == null
+                || !pending.future.isDone() || pending.future.isCompletedExceptionally()) {
+            return;
+        }
+        try {
+            ReceiptRecord record = new ReceiptRecord();
+            record.setTransHash(notification.getKey());
+            record.setGroupId(pending.groupId);
+            record.setReceipt(JsonUtils.toJSONString(pending.future.join()));
+            record.setCreateTime(System.currentTimeMillis());
+            receiptRecordRepository.save(record);
+        } catch (Exception e) {
+            log.warn("spill receipt fail. transHash:{}", notification.getKey(), e);
+        }
+    }
+
+    private static final class PendingReceipt {
+        private final int groupId;
+        private final CompletableFuture<TransactionReceipt> future;
+        private final long createTime = System.currentTimeMillis();
+
+        PendingReceipt(int groupId, CompletableFuture<TransactionReceipt> future) {
+            this.groupId = groupId;
+            this.future = future;
+        }
+
+        boolean canResend(long staleTime) {
+            return future.isCompletedExceptionally() || (!future.isDone() && createTime < staleTime);
+        }
+    }
+}
@@ -17,14 +17,22 @@ package com.webank.webase.front.transaction;
 
 import com.webank.webase.front.base.controller.BaseController;
 import com.webank.webase.front.base.exception.FrontException;
+import com.webank.webase.front.base.properties.Constants;
+import com.webank.webase.front.transaction.entity.ReqBatchTransHandleWithSign;
+import com.webank.webase.front.transaction.entity.ReqMultiCall;
+import com.webank.webase.front.transaction.entity.ReqMultiCallItem;
 import com.webank.webase.front.transaction.entity.ReqQueryTransHandle;
 import com.webank.webase.front.transaction.entity.ReqSignedTransHandle;
 import com.webank.webase.front.transaction.entity.ReqTransHandle;
 import com.webank.webase.front.transaction.entity.ReqTransHandleWithSign;
+import com.webank.webase.front.transaction.entity.RspBatchTransItem;
+import com.webank.webase.front.transaction.entity.RspMultiCall;
+import com.webank.webase.front.transaction.entity.RspReceiptStatus;
 import com.webank.webase.front.util.Address;
 import com.webank.webase.front.util.JsonUtils;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
 import javax.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -33,9 +41,12 @@ import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static com.webank.webase.front.base.code.ConstantCode.*;
 
@@ -49,8 +60,16 @@ import static com.webank.webase.front.base.code.ConstantCode.*;
 @RequestMapping(value = "/trans")
 public class TransController extends BaseController {
 
+    /**
+     * margin of async request timeout over transMaxWait,
+     * make sure receipt timeout is returned before servlet timeout
+     */
+    private static final long ASYNC_TIMEOUT_MARGIN_MILLIS = 5000L;
+
     @Autowired
     TransService transServiceImpl;
+    @Autowired
+    Constants constants;
 
     /**
      * transHandle through webase-sign
@@ -59,31 +78,65 @@ public class TransController extends BaseController {
     @ApiOperation(value = "transaction handing", notes = "transaction handing")
     @ApiImplicitParam(name = "reqTransHandle", value = "transaction info", required = true, dataType = "ReqTransHandle")
     @PostMapping("/handleWithSign")
-    public Object transHandle(@Valid @RequestBody ReqTransHandleWithSign reqTransHandle, BindingResult result) throws Exception {
+    public DeferredResult<Object> transHandle(@Valid @RequestBody ReqTransHandleWithSign reqTransHandle, BindingResult result) throws Exception {
         log.info("transHandle start. ReqTransHandle:[{}]", JsonUtils.toJSONString(reqTransHandle));
 
         Instant startTime = Instant.now();
         log.info("transHandle start startTime:{}", startTime.toEpochMilli());
 
         checkParamResult(result);
-        String address = reqTransHandle.getContractAddress();
-        if (StringUtils.isBlank(reqTransHandle.getVersion()) && StringUtils.isBlank(address)) {
-            throw new FrontException(VERSION_AND_ADDRESS_CANNOT_ALL_BE_NULL);
+        checkTransHandleWithSign(reqTransHandle);
+        CompletableFuture<Object> future = transServiceImpl.transHandleWithSign(reqTransHandle)
+            .whenComplete((obj, ex) -> log.info("transHandle end  useTime:{}",
+                Duration.between(startTime, Instant.now()).toMillis()));
+        return toDeferredResult(future, getAsyncTimeout());
+    }
+
+    /**
+     * batch transHandle through webase-sign
+     * result list is in order of transList
+     */
+    @ApiOperation(value = "batch transaction handing", notes = "batch transaction handing, return result of each transaction")
+    @ApiImplicitParam(name = "reqBatchTransHandle", value = "batch transaction info", required = true, dataType = "ReqBatchTransHandleWithSign")
+    @PostMapping("/batchHandleWithSign")
+    public DeferredResult<List<RspBatchTransItem>> batchTransHandle(@Valid @RequestBody ReqBatchTransHandleWithSign reqBatchTransHandle, BindingResult result) {
+        List<ReqTransHandleWithSign> transList = reqBatchTransHandle.getTransList();
+        log.info("batchTransHandle start. size:{}", transList == null ? 0 : transList.size());
+
+        Instant startTime = Instant.now();
+        checkParamResult(result);
+        if (transList.size() > constants.getBatchTransMaxSize()) {
+            throw new FrontException(BATCH_TRANS_SIZE_EXCEED);
         }
-        if (address.length() != Address.ValidLen
-                || org.fisco.bcos.web3j.abi.datatypes.Address.DEFAULT.toString().equals(address)) {
-            throw new FrontException(PARAM_ADDRESS_IS_INVALID);
+        transList.forEach(this::checkTransHandleWithSign);
+        CompletableFuture<List<RspBatchTransItem>> future = transServiceImpl.batchTransHandleWithSign(transList)
+            .whenComplete((list, ex) -> log.info("batchTransHandle end  useTime:{}",
+                Duration.between(startTime, Instant.now()).toMillis()));
+        return toDeferredResult(future, constants.getBatchTransMaxWait() * 1000L);
+    }
+
+    /**
+     * constant calls of one group in one request, called concurrently
+     * result list is in order of callList
+     */
+    @ApiOperation(value = "multi constant call", notes = "call constant functions concurrently, return result of each call and block number")
+    @ApiImplicitParam(name = "reqMultiCall", value = "constant call list", required = true, dataType = "ReqMultiCall")
+    @PostMapping("/multiCall")
+    public DeferredResult<RspMultiCall> multiCall(@Valid @RequestBody ReqMultiCall reqMultiCall, BindingResult result) {
+        List<ReqMultiCallItem> callList = reqMultiCall.getCallList();
+        log.info("multiCall start. size:{}", callList == null ? 0 : callList.size());
+        checkParamResult(result);
+        if (callList.size() > constants.getMultiCallMaxSize()) {
+            throw new FrontException(MULTI_CALL_SIZE_EXCEED);
         }
-        Object obj =  transServiceImpl.transHandleWithSign(reqTransHandle);
-        log.info("transHandle end  useTime:{}",
-                Duration.between(startTime, Instant.now()).toMillis());
-        return obj;
+        callList.forEach(this::checkMultiCallItem);
+        return toDeferredResult(transServiceImpl.multiCall(reqMultiCall), getAsyncTimeout());
     }
 
     @ApiOperation(value = "transaction handle locally", notes = "transaction locally")
     @ApiImplicitParam(name = "reqTransHandle", value = "transaction info", required = true, dataType = "ReqTransHandle")
     @PostMapping("/handle")
-    public Object transHandleLocal(@Valid @RequestBody ReqTransHandle reqTransHandle, BindingResult result) {
+    public DeferredResult<Object> transHandleLocal(@Valid @RequestBody ReqTransHandle reqTransHandle, BindingResult result) {
         log.info("transHandleLocal start. ReqTransHandle:[{}]", JsonUtils.toJSONString(reqTransHandle));
 
         Instant startTime = Instant.now();
@@ -97,17 +150,17 @@ public class TransController extends BaseController {
         if (address.length() != Address.ValidLen) {
             throw new FrontException(PARAM_ADDRESS_IS_INVALID);
         }
-        Object obj =  transServiceImpl.transHandleLocal(reqTransHandle);
-        log.info("transHandleLocal end  useTime:{}",
-                Duration.between(startTime, Instant.now()).toMillis());
-        return obj;
+        CompletableFuture<Object> future = transServiceImpl.transHandleLocal(reqTransHandle)
+            .whenComplete((obj, ex) -> log.info("transHandleLocal end  useTime:{}",
+                Duration.between(startTime, Instant.now()).toMillis()));
+        return toDeferredResult(future, getAsyncTimeout());
     }
 
 
     @ApiOperation(value = "send signed transaction ")
     @ApiImplicitParam(name = "reqSignedTransHandle", value = "transaction info", required = true, dataType = "ReqSignedTransHandle")
     @PostMapping("/signed-transaction")
-    public TransactionReceipt sendSignedTransaction(@Valid @RequestBody ReqSignedTransHandle reqSignedTransHandle, BindingResult result) throws Exception {
+    public DeferredResult<TransactionReceipt> sendSignedTransaction(@Valid @RequestBody ReqSignedTransHandle reqSignedTransHandle, BindingResult result) throws Exception {
         log.info("transHandleLocal start. ReqSignedTransHandle:[{}]", JsonUtils.toJSONString(reqSignedTransHandle));
 
         Instant startTime = Instant.now();
@@ -118,9 +171,29 @@ public class TransController extends BaseController {
         if (StringUtils.isBlank(signedStr)) {
             throw new FrontException(ENCODE_STR_CANNOT_BE_NULL);
         }
-        TransactionReceipt receipt =  transServiceImpl.sendSignedTransaction(signedStr, reqSignedTransHandle.getSync(),reqSignedTransHandle.getGroupId());
-        log.info("transHandleLocal end  useTime:{}", Duration.between(startTime, Instant.now()).toMillis());
-        return receipt;
+        CompletableFuture<TransactionReceipt> future = transServiceImpl.sendSignedTransaction(signedStr, reqSignedTransHandle.getSync(),reqSignedTransHandle.getGroupId())
+            .whenComplete((receipt, ex) -> log.info("transHandleLocal end  useTime:{}", Duration.between(startTime, Instant.now()).toMillis()));
+        return toDeferredResult(future, getAsyncTimeout());
+    }
+
+    /**
+     * long polling receipts of transactions sent through front,
+     * return when all receipts returned or waitMs passed
+     */
+    @ApiOperation(value = "get receipts of transactions", notes = "wait for receipts of transactions sent by front")
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = "hashes", value = "transaction hash list", required = true, dataType = "String", allowMultiple = true),
+        @ApiImplicitParam(name = "waitMs", value = "max wait time(ms)", dataType = "long")})
+    @GetMapping("/receipts")
+    public DeferredResult<List<RspReceiptStatus>> getReceipts(@RequestParam List<String> hashes,
+            @RequestParam(required = false, defaultValue = "0") long waitMs) {
+        log.info("getReceipts start. size:{} waitMs:{}", hashes.size(), waitMs);
+        if (hashes.isEmpty() || hashes.size() > constants.getReceiptQueryMaxSize()) {
+            throw new FrontException(RECEIPT_QUERY_SIZE_EXCEED);
+        }
+        long wait = Math.min(waitMs, constants.getReceiptMaxWaitMs());
+        return toDeferredResult(transServiceImpl.getReceipts(hashes, wait),
+            wait + ASYNC_TIMEOUT_MARGIN_MILLIS);
     }
 
     @ApiOperation(value = "send query transaction ")
@@ -142,4 +215,30 @@ public class TransController extends BaseController {
         return obj;
     }
 
+    private void checkTransHandleWithSign(ReqTransHandleWithSign reqTransHandle) {
+        String address = reqTransHandle.getContractAddress();
+        if (StringUtils.isBlank(reqTransHandle.getVersion()) && StringUtils.isBlank(address)) {
+            throw new FrontException(VERSION_AND_ADDRESS_CANNOT_ALL_BE_NULL);
+        }
+        if (address.length() != Address.ValidLen
+                || org.fisco.bcos.web3j.abi.datatypes.Address.DEFAULT.toString().equals(address)) {
+            throw new FrontException(PARAM_ADDRESS_IS_INVALID);
+        }
+    }
+
+    private void checkMultiCallItem(ReqMultiCallItem item) {
+        // call is sent to the address, version only locates abi
+        String address = item.getContractAddress();
+        if (StringUtils.isBlank(address)) {
+            throw new FrontException(CONTRACT_ADDRESS_NULL);
+        }
+        if (address.length() != Address.ValidLen) {
+            throw new FrontException(PARAM_ADDRESS_IS_INVALID);
+        }
+    }
+
+    private long getAsyncTimeout() {
+        return constants.getTransMaxWait() * 1000L + ASYNC_TIMEOUT_MARGIN_MILLIS;
+    }
+
 }
@@ -15,13 +15,13 @@ package com.webank.webase.front.transaction;
 
 
 import static com.webank.webase.front.base.code.ConstantCode.IN_FUNCTION_ERROR;
-import static com.webank.webase.front.util.ContractAbiUtil.STATE_MUTABILITY_PURE;
-import static com.webank.webase.front.util.ContractAbiUtil.STATE_MUTABILITY_VIEW;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.webank.webase.front.base.code.ConstantCode;
 import com.webank.webase.front.base.enums.PrecompiledTypes;
+import com.webank.webase.front.base.enums.TransEndpoint;
+import com.webank.webase.front.base.enums.TransStage;
 import com.webank.webase.front.base.exception.FrontException;
 import com.webank.webase.front.base.properties.Constants;
 import com.webank.webase.front.contract.CommonContract;
@@ -30,18 +30,28 @@ import com.webank.webase.front.contract.entity.Contract;
 import com.webank.webase.front.keystore.KeyStoreService;
 import com.webank.webase.front.keystore.entity.EncodeInfo;
 import com.webank.webase.front.keystore.entity.KeyStoreInfo;
+import com.webank.webase.front.metrics.TransMetrics;
 import com.webank.webase.front.precompiledapi.PrecompiledCommonInfo;
 import com.webank.webase.front.precompiledapi.PrecompiledService;
 import com.webank.webase.front.transaction.entity.ContractFunction;
 import com.webank.webase.front.transaction.entity.ContractOfTrans;
+import com.webank.webase.front.transaction.entity.FunctionDescriptor;
+import com.webank.webase.front.transaction.entity.ReqMultiCall;
+import com.webank.webase.front.transaction.entity.ReqMultiCallItem;
 import com.webank.webase.front.transaction.entity.ReqTransHandle;
 import com.webank.webase.front.transaction.entity.ReqTransHandleWithSign;
+import com.webank.webase.front.transaction.entity.RspBatchTransItem;
+import com.webank.webase.front.transaction.entity.RspMultiCall;
+import com.webank.webase.front.transaction.entity.RspReceiptStatus;
 import com.webank.webase.front.util.AbiUtil;
 import com.webank.webase.front.util.CommonUtils;
 import com.webank.webase.front.util.ContractAbiUtil;
 import com.webank.webase.front.util.FrontUtils;
 import com.webank.webase.front.util.JsonUtils;
+import com.webank.webase.front.web3api.BlockHeightTracker;
 import com.webank.webase.front.web3api.Web3ApiService;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.time.Duration;
@@ -51,9 +61,10 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Random;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import lombok.extern.slf4j.Slf4j;
 import org.fisco.bcos.channel.client.TransactionSucCallback;
 import org.fisco.bcos.web3j.abi.FunctionEncoder;
@@ -72,6 +83,7 @@ import org.fisco.bcos.web3j.crypto.TransactionEncoder;
 import org.fisco.bcos.web3j.protocol.ObjectMapperFactory;
 import org.fisco.bcos.web3j.protocol.Web3j;
 import org.fisco.bcos.web3j.protocol.core.DefaultBlockParameterName;
+import org.fisco.bcos.web3j.protocol.channel.StatusCode;
 import org.fisco.bcos.web3j.protocol.core.Request;
 import org.fisco.bcos.web3j.protocol.core.methods.request.Transaction;
 import org.fisco.bcos.web3j.protocol.core.methods.response.AbiDefinition;
@@ -84,6 +96,7 @@ import org.fisco.bcos.web3j.tx.gas.StaticGasProvider;
 import org.fisco.bcos.web3j.tx.txdecode.ConstantProperties;
 import org.fisco.bcos.web3j.utils.Numeric;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
@@ -104,13 +117,41 @@ public class TransService {
     private ContractRepository contractRepository;
     @Autowired
     private PrecompiledService precompiledService;
+    @Autowired
+    @Qualifier(value = "transTimer")
+    private Timer transTimer;
+    @Autowired
+    private FunctionDescriptorCache functionDescriptorCache;
+    @Autowired
+    private ConstantCallCache constantCallCache;
+    @Autowired
+    private ReceiptStore receiptStore;
+    @Autowired
+    private AdmissionControl admissionControl;
+    @Autowired
+    private TransMetrics transMetrics;
+    @Autowired
+    private BlockHeightTracker blockHeightTracker;
+    @Autowired
+    @Qualifier(value = "batchTransExecutor")
+    private ExecutorService batchTransExecutor;
 
     /**
      * transHandleWithSign.
      *
      * @param req request
+     * @return future of call result or transaction receipt
      */
-    public Object transHandleWithSign(ReqTransHandleWithSign req) {
+    public CompletableFuture<Object> transHandleWithSign(ReqTransHandleWithSign req) {
+        return transHandleWithSign(req, TransEndpoint.HANDLE_WITH_SIGN);
+    }
+
+    /**
+     * transHandleWithSign, stages recorded under endpoint.
+     */
+    public CompletableFuture<Object> transHandleWithSign(ReqTransHandleWithSign req,
+            TransEndpoint endpoint) {
+        long startNanos = System.nanoTime();
         // get signUserId
         String signUserId = req.getSignUserId();
         ContractOfTrans contractOfTrans = new ContractOfTrans(req);
@@ -119,13 +160,138 @@ public class TransService {
         // check groupId
         int groupId = contractOfTrans.getGroupId();
         Web3j web3j = web3ApiService.getWeb3j(groupId);
+        transMetrics.record(groupId, endpoint, TransStage.ABI_BUILD, startNanos);
         // check contractAddress
         String contractAddress = contractOfTrans.getContractAddress();
         // encode function
         Function function = new Function(req.getFuncName(),
                 contractFunction.getFinalInputs(), contractFunction.getFinalOutputs());
 
-        return handleTransByFunction(groupId, web3j, signUserId, contractAddress, function, contractFunction);
+        return handleTransByFunction(groupId, web3j, signUserId, contractAddress, function,
+            contractFunction, endpoint);
+    }
+
+    /**
+     * batch transHandleWithSign.
+     * encode and sign in batchTransExecutor, send all to node without waiting,
+     * future is completed after all items finished
+     *
+     * @param reqList request list
+     * @return future of result list in order of request
+     */
+    public CompletableFuture<List<RspBatchTransItem>> batchTransHandleWithSign(
+            List<ReqTransHandleWithSign> reqList) {
+        log.info("batchTransHandleWithSign start. size:{}", reqList.size());
+        Instant startTime = Instant.now();
+        List<CompletableFuture<RspBatchTransItem>> itemFutures = new ArrayList<>(reqList.size());
+        for (int i = 0; i < reqList.size(); i++) {
+            final int index = i;
+            final ReqTransHandleWithSign req = reqList.get(i);
+            CompletableFuture<RspBatchTransItem> itemFuture = CompletableFuture
+                .supplyAsync(() -> transHandleWithSign(req, TransEndpoint.BATCH_HANDLE_WITH_SIGN),
+                    batchTransExecutor)
+                .thenCompose(future -> future)
+                .handle((data, ex) -> buildBatchTransItem(index, data, ex));
+            itemFutures.add(itemFuture);
+        }
+        return CompletableFuture
+            .allOf(itemFutures.toArray(new CompletableFuture[0]))
+            .thenApply(v -> {
+                List<RspBatchTransItem> resultList = new ArrayList<>(itemFutures.size());
+                itemFutures.forEach(f -> resultList.add(f.join()));
+                log.info("batchTransHandleWithSign end. size:{} useTime:{}", resultList.size(),
+                    Duration.between(startTime, Instant.now()).toMillis());
+                return resultList;
+            });
+    }
+
+    private static RspBatchTransItem buildBatchTransItem(int index, Object data, Throwable ex) {
+        if (ex == null) {
+            return new RspBatchTransItem(index, ConstantCode.RET_SUCCESS.getCode(),
+                ConstantCode.RET_SUCCESS.getMessage(), data);
+        }
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null
+            ? ex.getCause() : ex;
+        log.warn("batchTransHandleWithSign item fail. index:{} error:{}", index,
+            cause.getMessage());
+        if (cause instanceof FrontException && ((FrontException) cause).getRetCode() != null) {
+            FrontException frontException = (FrontException) cause;
+            String message = frontException.getDetail() != null
+                ? frontException.getDetail() : frontException.getRetCode().getMessage();
+            return new RspBatchTransItem(index, frontException.getRetCode().getCode(), message,
+                null);
+        }
+        return new RspBatchTransItem(index, ConstantCode.SYSTEM_ERROR.getCode(),
+            cause.getMessage(), null);
+    }
+
+    /**
+     * multi constant calls of one group, called in batchTransExecutor concurrently.
+     * node always calls at latest block, so block height is read before and after calls,
+     * and calls are sent again if it changed, at most multiCallRetries times
+     *
+     * @return future of results in order of callList
+     */
+    public CompletableFuture<RspMultiCall> multiCall(ReqMultiCall req) {
+        log.info("multiCall start. groupId:{} size:{}", req.getGroupId(),
+            req.getCallList().size());
+        Instant startTime = Instant.now();
+        Web3j web3j = web3ApiService.getWeb3j(req.getGroupId());
+        return multiCall(req, web3j, constants.getMultiCallRetries())
+            .whenComplete((rsp, ex) -> log.info("multiCall end. groupId:{} useTime:{}",
+                req.getGroupId(), Duration.between(startTime, Instant.now()).toMillis()));
+    }
+
+    private CompletableFuture<RspMultiCall> multiCall(ReqMultiCall req, Web3j web3j,
+            int retries) {
+        int groupId = req.getGroupId();
+        return web3j.getBlockNumber().sendAsync().thenCompose(before -> {
+            List<ReqMultiCallItem> callList = req.getCallList();
+            List<CompletableFuture<RspBatchTransItem>> itemFutures =
+                new ArrayList<>(callList.size());
+            for (int i = 0; i < callList.size(); i++) {
+                final int index = i;
+                final ReqMultiCallItem item = callList.get(i);
+                itemFutures.add(CompletableFuture
+                    .supplyAsync(() -> multiCallItem(groupId, web3j, item), batchTransExecutor)
+                    .handle((data, ex) -> buildBatchTransItem(index, data, ex)));
+            }
+            return CompletableFuture.allOf(itemFutures.toArray(new CompletableFuture[0]))
+                .thenCompose(v -> web3j.getBlockNumber().sendAsync())
+                .thenCompose(after -> {
+                    boolean consistent = after.getBlockNumber().equals(before.getBlockNumber());
+                    if (!consistent && retries > 0) {
+                        log.info("multiCall block changed from {} to {}, call again",
+                            before.getBlockNumber(), after.getBlockNumber());
+                        return multiCall(req, web3j, retries - 1);
+                    }
+                    List<RspBatchTransItem> resultList = new ArrayList<>(itemFutures.size());
+                    itemFutures.forEach(f -> resultList.add(f.join()));
+                    return CompletableFuture.completedFuture(new RspMultiCall(
+                        after.getBlockNumber().longValue(), consistent, resultList));
+                });
+        });
+    }
+
+    private Object multiCallItem(int groupId, Web3j web3j, ReqMultiCallItem item) {
+        long startNanos = System.nanoTime();
+        ContractFunction contractFunction =
+            buildContractFunction(new ContractOfTrans(groupId, item));
+        if (!contractFunction.getConstant()) {
+            throw new FrontException(ConstantCode.MULTI_CALL_NOT_CONSTANT);
+        }
+        transMetrics.record(groupId, TransEndpoint.MULTI_CALL, TransStage.ABI_BUILD,
+            startNanos);
+        Function function = new Function(item.getFuncName(),
+            contractFunction.getFinalInputs(), contractFunction.getFinalOutputs());
+        long encodeStartNanos = System.nanoTime();
+        String encodedFunction = contractFunction.getDescriptor() == null
+            ? FunctionEncoder.encode(function)
+            : contractFunction.getDescriptor().encode(function.getInputParameters());
+        transMetrics.record(groupId, TransEndpoint.MULTI_CALL, TransStage.ENCODE,
+            encodeStartNanos);
+        return constantCall(groupId, web3j, item.getContractAddress(), encodedFunction,
+            function, contractFunction, TransEndpoint.MULTI_CALL);
     }
 
     /**
@@ -136,6 +302,7 @@ public class TransService {
      */
     public Object transHandleWithSignForPrecompile(int groupId, String signUserId,
             PrecompiledTypes precompiledType, String funcName, List<Object> funcParams) {
+        long startNanos = System.nanoTime();
         // check groupId
         Web3j web3j = web3ApiService.getWeb3j(groupId);
         // get address and abi of precompiled contract
@@ -145,77 +312,105 @@ public class TransService {
         // check function param and get function param from abi
         ContractFunction contractFunction =
                 buildContractFunctionWithAbi(contractAbi, funcName, funcParams);
+        transMetrics.record(groupId, TransEndpoint.PRECOMPILED, TransStage.ABI_BUILD,
+            startNanos);
         // encode function
         Function function = new Function(funcName, contractFunction.getFinalInputs(),
                 contractFunction.getFinalOutputs());
         // trans handle
-        return handleTransByFunction(groupId, web3j, signUserId, contractAddress, function,
-                contractFunction);
+        return waitForResult(handleTransByFunction(groupId, web3j, signUserId, contractAddress,
+                function, contractFunction, TransEndpoint.PRECOMPILED));
     }
 
     /**
      * handleTransByFunction by whether is constant
+     * constant call returns a completed future,
+     * transaction's future is completed by receipt callback or trans timer
      */
-    private Object handleTransByFunction(int groupId, Web3j web3j, String signUserId,
-            String contractAddress, Function function, ContractFunction contractFunction) {
-
-        String encodedFunction = FunctionEncoder.encode(function);
-        Object response;
+    private CompletableFuture<Object> handleTransByFunction(int groupId, Web3j web3j,
+            String signUserId, String contractAddress, Function function,
+            ContractFunction contractFunction, TransEndpoint endpoint) {
+
+        long encodeStartNanos = System.nanoTime();
+        String encodedFunction = contractFunction.getDescriptor() == null
+            ? FunctionEncoder.encode(function)
+            : contractFunction.getDescriptor().encode(function.getInputParameters());
+        transMetrics.record(groupId, endpoint, TransStage.ENCODE, encodeStartNanos);
+        CompletableFuture<Object> response;
         Instant startTime = Instant.now();
         // if constant, signUserId can be ""
         if (contractFunction.getConstant()) {
-            KeyStoreInfo keyStoreInfo = keyStoreService.getKeyStoreInfoForQuery();
-            String callOutput;
-            try {
+            response = CompletableFuture.completedFuture(constantCall(groupId, web3j,
+                contractAddress, encodedFunction, function, contractFunction, endpoint));
+        } else {
+            response = admissionControl.submit(groupId, () -> {
+                // data sign
+                long signStartNanos = System.nanoTime();
+                String signMsg =
+                        signMessage(groupId, web3j, signUserId, contractAddress, encodedFunction);
+                transMetrics.record(groupId, endpoint, TransStage.SIGN, signStartNanos);
+                Instant nodeStartTime = Instant.now();
+                long nodeStartNanos = System.nanoTime();
+                // send transaction, wait for receipt without blocking current thread
+                return sendMessageAsync(web3j, signMsg).whenComplete((receipt, ex) -> transMetrics
+                    .record(groupId, endpoint, TransStage.NODE, nodeStartNanos)
+                ).thenApply(receipt -> {
+                    log.info("***node cost time***: {}",
+                        Duration.between(nodeStartTime, Instant.now()).toMillis());
+                    // cover null message
+                    String receiptMsg = FrontUtils.handleReceiptMsg(receipt);
+                    receipt.setMessage(receiptMsg);
+                    return receipt;
+                });
+            });
+        }
+        return response.whenComplete((result, ex) -> {
+            log.info("***transaction total cost time***: {}",
+                Duration.between(startTime, Instant.now()).toMillis());
+            if (ex == null) {
+                log.info("transHandleWithSign end. func:{} baseRsp:{}",
+                    contractFunction.getFuncName(), JsonUtils.toJSONString(result));
+            }
+        });
+    }
+
+    /**
+     * call constant function and parse output, output is cached in the block it was read at
+     */
+    private Object constantCall(int groupId, Web3j web3j, String contractAddress,
+            String encodedFunction, Function function, ContractFunction contractFunction,
+            TransEndpoint endpoint) {
+        // sender is random account, output is cached regardless of sender
+        String callOutput = constantCallCache.get(groupId, contractAddress, null,
+            encodedFunction);
+        try {
+            if (callOutput == null) {
+                long callStartNanos = System.nanoTime();
+                long blockHeight = constantCallCache.getBlockHeight(groupId);
+                KeyStoreInfo keyStoreInfo = keyStoreService.getKeyStoreInfoForQuery();
                 callOutput = web3j
                     .call(Transaction.createEthCallTransaction(keyStoreInfo.getAddress(),
                         contractAddress, encodedFunction), DefaultBlockParameterName.LATEST)
                     .send().getValue().getOutput();
-            } catch (IOException e) {
-                log.error("send constant tx error:[]", e);
-                throw new FrontException(ConstantCode.CALL_CONTRACT_IO_EXCEPTION, e.getMessage());
-            } catch (ContractCallException e) {
-                log.error("send constant tx fail for contract status error:[]", e);
-                throw new FrontException(ConstantCode.CALL_CONTRACT_ERROR, e.getMessage());
-            }
-
-            List<Type> typeList =
-                    FunctionReturnDecoder.decode(callOutput, function.getOutputParameters());
-            if (typeList.size() > 0) {
-                response = AbiUtil.callResultParse(contractFunction.getOutputList(), typeList);
-            } else {
-                response = typeList;
-            }
-        } else {
-            // data sign
-            String signMsg =
-                    signMessage(groupId, web3j, signUserId, contractAddress, encodedFunction);
-            Instant nodeStartTime = Instant.now();
-            // send transaction
-            final CompletableFuture<TransactionReceipt> transFuture = new CompletableFuture<>();
-            TransactionReceipt responseReceipt;
-            sendMessage(web3j, signMsg, transFuture);
-            try{
-                responseReceipt = transFuture.get(constants.getTransMaxWait(), TimeUnit.SECONDS);
-                // cover null message
-                String receiptMsg = FrontUtils.handleReceiptMsg(responseReceipt);
-                responseReceipt.setMessage(receiptMsg);
-                response = responseReceipt;
-            } catch (InterruptedException | ExecutionException  e) {
-                log.error("get tx receipt error for interrupted or exec:[]", e);
-                throw new FrontException(ConstantCode.GET_TX_RECEIPT_EXEC_ERROR);
-            } catch (TimeoutException e) {
-                log.error("get tx receipt error for timeout:[]", e);
-                throw new FrontException(ConstantCode.GET_TX_RECEIPT_TIMEOUT_ERROR);
+                transMetrics.record(groupId, endpoint, TransStage.CALL, callStartNanos);
+                constantCallCache.put(groupId, contractAddress, null, encodedFunction,
+                    blockHeight, callOutput);
             }
-            log.info("***node cost time***: {}",
-                    Duration.between(nodeStartTime, Instant.now()).toMillis());
+        } catch (IOException e) {
+            log.error("send constant tx error:[]", e);
+            throw new FrontException(ConstantCode.CALL_CONTRACT_IO_EXCEPTION, e.getMessage());
+        } catch (ContractCallException e) {
+            log.error("send constant tx fail for contract status error:[]", e);
+            throw new FrontException(ConstantCode.CALL_CONTRACT_ERROR, e.getMessage());
         }
-        log.info("***transaction total cost time***: {}",
-                Duration.between(startTime, Instant.now()).toMillis());
-        log.info("transHandleWithSign end. func:{} baseRsp:{}", contractFunction.getFuncName(),
-                JsonUtils.toJSONString(response));
-        return response;
+
+        long decodeStartNanos = System.nanoTime();
+        List<Type> typeList =
+                FunctionReturnDecoder.decode(callOutput, function.getOutputParameters());
+        Object result = typeList.size() > 0
+            ? AbiUtil.callResultParse(contractFunction.getOutputList(), typeList) : typeList;
+        transMetrics.record(groupId, endpoint, TransStage.DECODE, decodeStartNanos);
+        return result;
     }
 
     /**
@@ -309,7 +504,7 @@ public class TransService {
         Random r = new Random();
         BigInteger randomid = new BigInteger(250, r);
 
-        BigInteger blockLimit = web3j.getBlockNumberCache();
+        BigInteger blockLimit = blockHeightTracker.getBlockLimit(groupId, web3j);
         String versionContent = Constants.version;
         // get user's signUserId
         // String signUserId = keyStoreService.getSignUserIdByAddress(address);
@@ -368,6 +563,22 @@ public class TransService {
      */
     public void sendMessage(Web3j web3j, String signMsg,
             final CompletableFuture<TransactionReceipt> future) {
+        Request<?, SendTransaction> request = buildSendRequest(web3j, signMsg, future);
+        try {
+            request.send();
+        } catch (IOException e) {
+            log.error("send call tx error:[]", e);
+            throw new FrontException(ConstantCode.TRANSACTION_FAILED);
+        }
+
+    }
+
+
+    /**
+     * build request of raw transaction, future is completed by receipt callback
+     */
+    private Request<?, SendTransaction> buildSendRequest(Web3j web3j, String signMsg,
+            final CompletableFuture<TransactionReceipt> future) {
         Request<?, SendTransaction> request = web3j.sendRawTransaction(signMsg);
         request.setNeedTransCallback(true);
         request.setTransactionSucCallback(new TransactionSucCallback() {
@@ -378,13 +589,64 @@ public class TransService {
                 return;
             }
         });
+        return request;
+    }
+
+    /**
+     * send message to node and return future of receipt.
+     * future is completed by receipt callback, or by trans timer after transMaxWait
+     *
+     * @param signMsg signMsg
+     * @return future of receipt
+     */
+    public CompletableFuture<TransactionReceipt> sendMessageAsync(Web3j web3j, String signMsg) {
+        final CompletableFuture<TransactionReceipt> future = newReceiptFuture();
         try {
-            request.send();
-        } catch (IOException e) {
-            log.error("send call tx error:[]", e);
-            throw new FrontException(ConstantCode.TRANSACTION_FAILED);
+            sendMessage(web3j, signMsg, future);
+        } catch (FrontException e) {
+            future.cancel(false);
+            throw e;
         }
+        return future;
+    }
+
+    /**
+     * new receipt future which is completed exceptionally by trans timer after transMaxWait
+     */
+    private CompletableFuture<TransactionReceipt> newReceiptFuture() {
+        final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+        Timeout timeout = transTimer.newTimeout(t -> {
+            if (future.completeExceptionally(
+                new FrontException(ConstantCode.GET_TX_RECEIPT_TIMEOUT_ERROR))) {
+                log.error("get tx receipt error for timeout, wait:{}s",
+                    constants.getTransMaxWait());
+            }
+        }, constants.getTransMaxWait(), TimeUnit.SECONDS);
+        future.whenComplete((receipt, ex) -> timeout.cancel());
+        return future;
+    }
 
+    /**
+     * wait for the result of async transaction in sync interface
+     * no need of timeout, future is completed by trans timer
+     *
+     * @param future future of result
+     * @return result
+     */
+    public static <T> T waitForResult(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            log.error("get tx receipt error for interrupted:[]", e);
+            Thread.currentThread().interrupt();
+            throw new FrontException(ConstantCode.GET_TX_RECEIPT_EXEC_ERROR);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof FrontException) {
+                throw (FrontException) e.getCause();
+            }
+            log.error("get tx receipt error for exec:[]", e);
+            throw new FrontException(ConstantCode.GET_TX_RECEIPT_EXEC_ERROR);
+        }
     }
 
 
@@ -437,36 +699,26 @@ public class TransService {
     private ContractFunction buildContractFunctionWithAbi(List<Object> contractAbi, String funcName,
             List<Object> params) {
         log.debug("start buildContractFunctionWithAbi");
-        // check function name
-        AbiDefinition abiDefinition =
-                AbiUtil.getAbiDefinition(funcName, JsonUtils.toJSONString(contractAbi));
-        if (Objects.isNull(abiDefinition)) {
-            log.warn("transaction fail. func:{} is not existed", funcName);
-            throw new FrontException(IN_FUNCTION_ERROR);
-        }
+        // check function name, get function from cache
+        FunctionDescriptor descriptor = functionDescriptorCache.get(contractAbi, funcName);
 
         // input format
-        List<String> funcInputTypes = AbiUtil.getFuncInputType(abiDefinition);
+        List<String> funcInputTypes = descriptor.getInputList();
         // check param match inputs
         if (funcInputTypes.size() != params.size()) {
             log.error("load contract function error for function params not fit");
             throw new FrontException(ConstantCode.IN_FUNCPARAM_ERROR);
         }
-        List<Type> finalInputs = AbiUtil.inputFormat(funcInputTypes, params);
-        // output format
-        List<String> funOutputTypes = AbiUtil.getFuncOutputType(abiDefinition);
-        List<TypeReference<?>> finalOutputs = AbiUtil.outputFormat(funOutputTypes);
+        List<Type> finalInputs =
+                AbiUtil.inputFormat(funcInputTypes, descriptor.getInputClasses(), params);
 
-        // fit in solidity 0.6
-        boolean isConstant = (STATE_MUTABILITY_VIEW.equals(abiDefinition.getStateMutability())
-            || STATE_MUTABILITY_PURE.equals(abiDefinition.getStateMutability()));
         // build ContractFunction
         ContractFunction cf =
                 ContractFunction.builder().funcName(funcName)
-                    .constant(isConstant)
-                    //.constant(abiDefinition.isConstant())
-                    .inputList(funcInputTypes).outputList(funOutputTypes)
-                    .finalInputs(finalInputs).finalOutputs(finalOutputs).build();
+                    .constant(descriptor.isConstant())
+                    .inputList(funcInputTypes).outputList(descriptor.getOutputList())
+                    .finalInputs(finalInputs).finalOutputs(descriptor.getFinalOutputs())
+                    .descriptor(descriptor).build();
         return cf;
     }
 
@@ -504,20 +756,33 @@ public class TransService {
 
     /**
      * send transaction locally
+     *
+     * @return future of call result or transaction receipt
      */
-    public Object transHandleLocal(ReqTransHandle req) {
+    public CompletableFuture<Object> transHandleLocal(ReqTransHandle req) {
+        return transHandleLocal(req, TransEndpoint.HANDLE);
+    }
+
+    /**
+     * send transaction locally, stages recorded under endpoint
+     *
+     * @return future of call result or transaction receipt
+     */
+    public CompletableFuture<Object> transHandleLocal(ReqTransHandle req, TransEndpoint endpoint) {
         log.info("transHandle start. ReqTransHandle:[{}]", JsonUtils.toJSONString(req));
+        long startNanos = System.nanoTime();
 
         // init contract params
         ContractOfTrans cof = new ContractOfTrans(req);
         // check param and build function
         ContractFunction contractFunction = buildContractFunction(cof);
+        int groupId = cof.getGroupId();
+        // web3j
+        Web3j web3j = web3ApiService.getWeb3j(groupId);
+        transMetrics.record(groupId, endpoint, TransStage.ABI_BUILD, startNanos);
 
         // address
         String address = cof.getContractAddress();
-
-        // web3j
-        Web3j web3j = web3ApiService.getWeb3j(cof.getGroupId());
         // get privateKey
         Credentials credentials = getCredentials(contractFunction.getConstant(), req.getUser());
         // contract load
@@ -526,55 +791,162 @@ public class TransService {
         CommonContract commonContract = CommonContract.load(address, web3j, credentials, contractGasProvider);
 
         // request
-        Object result;
+        CompletableFuture<Object> result;
         Function function = new Function(cof.getFuncName(), contractFunction.getFinalInputs(),
                 contractFunction.getFinalOutputs());
         if (contractFunction.getConstant()) {
-            result = execCall(contractFunction.getOutputList(), function, commonContract);
+            long callStartNanos = System.nanoTime();
+            result = CompletableFuture.completedFuture(
+                execCall(contractFunction.getOutputList(), function, commonContract));
+            transMetrics.record(groupId, endpoint, TransStage.CALL, callStartNanos);
         } else {
-            result = execTransaction(function, commonContract);
+            result = admissionControl.submit(groupId, () -> {
+                long nodeStartNanos = System.nanoTime();
+                return execTransactionAsync(function, commonContract).whenComplete(
+                    (receipt, ex) -> transMetrics.record(groupId, endpoint,
+                        TransStage.NODE, nodeStartNanos)).thenApply(receipt -> receipt);
+            });
         }
 
-        log.info("transHandle end. name:{} func:{} result:{}", cof.getContractName(),
-                cof.getFuncName(), JsonUtils.toJSONString(result));
-        return result;
+        return result.whenComplete((res, ex) -> {
+            if (ex == null) {
+                log.info("transHandle end. name:{} func:{} result:{}", cof.getContractName(),
+                    cof.getFuncName(), JsonUtils.toJSONString(res));
+            }
+        });
     }
 
+    /**
+     * execTransaction through common contract without blocking current thread
+     * future is completed by receipt callback, or by trans timer after transMaxWait
+     *
+     * @param function function
+     * @param commonContract contract
+     */
+    private CompletableFuture<TransactionReceipt> execTransactionAsync(Function function,
+            CommonContract commonContract) {
+        final CompletableFuture<TransactionReceipt> future = newReceiptFuture();
+        commonContract.asyncExecTransaction(function, new TransactionSucCallback() {
+            @Override
+            public void onResponse(TransactionReceipt receipt) {
+                // same as execTransaction, receipt not ok throws
+                if (!receipt.isStatusOK()) {
+                    String statusMsg = StatusCode.getStatusMessage(receipt.getStatus(),
+                        receipt.getMessage());
+                    log.error("execTransactionAsync failed. hash:{} status:{} message:{}",
+                        receipt.getTransactionHash(), receipt.getStatus(), statusMsg);
+                    future.completeExceptionally(new FrontException(
+                        ConstantCode.TRANSACTION_SEND_FAILED.getCode(), statusMsg));
+                    return;
+                }
+                // cover null message through statusCode
+                String receiptMsg = FrontUtils.handleReceiptMsg(receipt);
+                receipt.setMessage(receiptMsg);
+                future.complete(receipt);
+            }
+        });
+        return future;
+    }
 
-    public TransactionReceipt sendSignedTransaction(String signedStr, Boolean sync, int groupId)  {
+    /**
+     * send signed transaction.
+     * same signed transaction sent before is not sent to node again,
+     * receipt of it is returned, or waited if still pending
+     *
+     * @param sync if true, future is completed when receipt returned,
+     *      else completed with transaction hash directly
+     * @return future of receipt
+     */
+    public CompletableFuture<TransactionReceipt> sendSignedTransaction(String signedStr,
+            Boolean sync, int groupId) {
 
         Web3j web3j = web3ApiService.getWeb3j(groupId);
-        if (sync) {
-            final CompletableFuture<TransactionReceipt> transFuture = new CompletableFuture<>();
-            TransactionReceipt receipt;
-            sendMessage(web3j, signedStr, transFuture);
-            try{
-                receipt = transFuture.get(constants.getTransMaxWait(), TimeUnit.SECONDS);
-            } catch (InterruptedException | ExecutionException  e) {
-                log.error("send call tx error for interrupted or exec:[]", e);
-                throw new FrontException(ConstantCode.GET_TX_RECEIPT_EXEC_ERROR);
-            } catch (TimeoutException e) {
-                log.error("send call tx error for timeout:[]", e);
-                throw new FrontException(ConstantCode.GET_TX_RECEIPT_TIMEOUT_ERROR);
+        String transHash = Hash.sha3(signedStr);
+        // receipt is kept in receipt store, query by /trans/receipts
+        CompletableFuture<TransactionReceipt> storeFuture = new CompletableFuture<>();
+        CompletableFuture<TransactionReceipt> previous =
+            receiptStore.registerIfAbsent(groupId, transHash, storeFuture);
+        if (previous != null) {
+            log.info("duplicate signed transaction not sent. hash:{} done:{}", transHash,
+                previous.isDone());
+            if (previous.isDone()) {
+                return previous;
             }
-             return receipt;
-        } else {
-            TransactionReceipt transactionReceipt = new TransactionReceipt();
-            web3j.sendRawTransaction(signedStr).sendAsync();
-            transactionReceipt.setTransactionHash(Hash.sha3(signedStr));
-            return transactionReceipt;
+            return sync ? withReceiptTimeout(previous) : hashOnlyReceipt(transHash);
         }
+        // permit of admission is held until receipt returned or transMaxWait
+        final CompletableFuture<TransactionReceipt> future = withReceiptTimeout(storeFuture);
+        long nodeStartNanos = System.nanoTime();
+        storeFuture.whenComplete((receipt, ex) -> transMetrics.record(groupId,
+            TransEndpoint.SIGNED_TRANSACTION, TransStage.NODE, nodeStartNanos));
+        try {
+            admissionControl.submit(groupId, () -> {
+                if (sync) {
+                    sendMessage(web3j, signedStr, storeFuture);
+                } else {
+                    buildSendRequest(web3j, signedStr, storeFuture).sendAsync()
+                        .whenComplete((sendTransaction, ex) -> {
+                            if (ex != null) {
+                                log.error("send signed tx async error:[]", ex);
+                                storeFuture.completeExceptionally(
+                                    new FrontException(ConstantCode.TRANSACTION_FAILED));
+                            }
+                        });
+                }
+                return future;
+            });
+        } catch (FrontException e) {
+            // not sent, can be sent again
+            storeFuture.completeExceptionally(e);
+            throw e;
+        }
+        return sync ? future : hashOnlyReceipt(transHash);
     }
 
+    /**
+     * future completed by receipt, or by trans timer after transMaxWait
+     */
+    private CompletableFuture<TransactionReceipt> withReceiptTimeout(
+            CompletableFuture<TransactionReceipt> receiptFuture) {
+        CompletableFuture<TransactionReceipt> future = newReceiptFuture();
+        receiptFuture.whenComplete((receipt, ex) -> {
+            if (ex == null) {
+                future.complete(receipt);
+            } else {
+                future.completeExceptionally(ex);
+            }
+        });
+        return future;
+    }
 
+    private static CompletableFuture<TransactionReceipt> hashOnlyReceipt(String transHash) {
+        TransactionReceipt transactionReceipt = new TransactionReceipt();
+        transactionReceipt.setTransactionHash(transHash);
+        return CompletableFuture.completedFuture(transactionReceipt);
+    }
+
+    /**
+     * wait for receipts of transactions sent through front
+     *
+     * @param waitMs max wait time
+     * @return future of receipts in order of transHashList
+     */
+    public CompletableFuture<List<RspReceiptStatus>> getReceipts(List<String> transHashList,
+            long waitMs) {
+        return receiptStore.awaitReceipts(transHashList, waitMs);
+    }
 
     public Object sendQueryTransaction(String encodeStr, String contractAddress, String funcName, String contractAbi, int groupId, String userAddress) {
 
         Web3j web3j = web3ApiService.getWeb3j(groupId);
-        String callOutput ;
+        String callOutput = constantCallCache.get(groupId, contractAddress, userAddress, encodeStr);
         try {
-           callOutput = web3j.call(Transaction.createEthCallTransaction(userAddress, contractAddress, encodeStr), DefaultBlockParameterName.LATEST)
+            if (callOutput == null) {
+                long blockHeight = constantCallCache.getBlockHeight(groupId);
+                callOutput = web3j.call(Transaction.createEthCallTransaction(userAddress, contractAddress, encodeStr), DefaultBlockParameterName.LATEST)
                     .send().getValue().getOutput();
+                constantCallCache.put(groupId, contractAddress, userAddress, encodeStr, blockHeight, callOutput);
+            }
         } catch (IOException e) {
             log.error("sendQueryTransaction fail for contract status error:[]", e);
             throw new FrontException(ConstantCode.CALL_CONTRACT_IO_EXCEPTION, e.getMessage());
@@ -583,14 +955,11 @@ public class TransService {
             throw new FrontException(ConstantCode.CALL_CONTRACT_ERROR, e.getMessage());
         }
 
-        AbiDefinition abiDefinition = getFunctionAbiDefinition(funcName, contractAbi);
-        if (Objects.isNull(abiDefinition)) {
-            throw new FrontException(IN_FUNCTION_ERROR);
-        }
-        List<String> funOutputTypes = AbiUtil.getFuncOutputType(abiDefinition);
-        List<TypeReference<?>> finalOutputs = AbiUtil.outputFormat(funOutputTypes);
+        FunctionDescriptor descriptor = functionDescriptorCache.get(contractAbi, funcName);
+        List<String> funOutputTypes = descriptor.getOutputList();
 
-        List<Type> typeList = FunctionReturnDecoder.decode(callOutput, Utils.convert(finalOutputs));
+        List<Type> typeList = FunctionReturnDecoder.decode(callOutput,
+            Utils.convert(descriptor.getFinalOutputs()));
         Object response;
         if (typeList.size() > 0) {
             response = AbiUtil.callResultParse(funOutputTypes, typeList);
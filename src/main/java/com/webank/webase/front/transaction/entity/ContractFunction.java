@@ -21,4 +21,8 @@ public class ContractFunction {
     List<String> outputList;
     List<Type> finalInputs;
     List<TypeReference<?>> finalOutputs;
+    /**
+     * cached function of abi, null if built from cns
+     */
+    FunctionDescriptor descriptor;
 }
@@ -48,6 +48,17 @@ public class ContractOfTrans {
         this.funcParam = req.getFuncParam();
     }
 
+    public ContractOfTrans(int groupId, ReqMultiCallItem req) {
+        this.contractName = req.getContractName();
+        this.version = req.getVersion();
+        this.contractAddress = req.getContractAddress();
+        this.groupId = groupId;
+        this.contractPath = req.getContractPath();
+        this.funcName = req.getFuncName();
+        this.contractAbi = req.getContractAbi();
+        this.funcParam = req.getFuncParam();
+    }
+
 //    @Deprecated
 //    public ContractOfTrans(ReqTransHandleWithSign req) {
 //        this.contractAddress = req.getContractAddress();
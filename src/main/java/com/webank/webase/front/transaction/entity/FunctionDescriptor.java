@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.transaction.entity;
+
+import java.util.List;
+import lombok.Getter;
+import org.fisco.bcos.web3j.abi.FunctionEncoder;
+import org.fisco.bcos.web3j.abi.TypeReference;
+import org.fisco.bcos.web3j.abi.datatypes.Type;
+
+/**
+ * function resolved from abi, cached by FunctionDescriptorCache.
+ * immutable except methodId, which is resolved on first encode
+ */
+@Getter
+public class FunctionDescriptor {
+    private final String funcName;
+    private final boolean constant;
+    private final List<String> inputList;
+    private final List<Class<? extends Type>> inputClasses;
+    private final List<String> outputList;
+    private final List<TypeReference<?>> finalOutputs;
+    /**
+     * selector, same as FunctionEncoder.encode(function).substring(0, 10)
+     */
+    private volatile String methodId;
+
+    public FunctionDescriptor(String funcName, boolean constant, List<String> inputList,
+            List<Class<? extends Type>> inputClasses, List<String> outputList,
+            List<TypeReference<?>> finalOutputs) {
+        this.funcName = funcName;
+        this.constant = constant;
+        this.inputList = inputList;
+        this.inputClasses = inputClasses;
+        this.outputList = outputList;
+        this.finalOutputs = finalOutputs;
+    }
+
+    /**
+     * encode function input with cached selector.
+     * signature is built the same as FunctionEncoder, so result is the same
+     *
+     * @param finalInputs formatted inputs
+     * @return encoded function
+     */
+    public String encode(List<Type> finalInputs) {
+        String id = methodId;
+        if (id == null) {
+            StringBuilder signature = new StringBuilder(funcName).append("(");
+            for (int i = 0; i < finalInputs.size(); i++) {
+                if (i > 0) {
+                    signature.append(",");
+                }
+                signature.append(finalInputs.get(i).getTypeAsString());
+            }
+            signature.append(")");
+            id = FunctionEncoder.buildMethodId(signature.toString());
+            methodId = id;
+        }
+        return id + FunctionEncoder.encodeConstructor(finalInputs);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.transaction.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import lombok.Data;
+
+/**
+ * receipt spilled from ReceiptStore to db
+ */
+@Data
+@Entity
+@Table(indexes = {@Index(columnList = "createTime", unique = false)})
+public class ReceiptRecord {
+    @Id
+    @Column(length = 66)
+    private String transHash;
+    private int groupId;
+    /**
+     * json of TransactionReceipt
+     */
+    @Lob
+    private String receipt;
+    private Long createTime;
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.transaction.entity;
+
+import com.webank.webase.front.base.code.ConstantCode;
+import java.util.ArrayList;
+import java.util.List;
+import javax.validation.Valid;
+import lombok.Data;
+import org.hibernate.validator.constraints.NotEmpty;
+
+/**
+ * multiCall interface parameter.
+ * all calls are constant calls of the same group
+ */
+@Data
+public class ReqMultiCall {
+    private int groupId = 1;
+    @Valid
+    @NotEmpty(message = ConstantCode.PARAM_FAIL_TRANS_LIST_IS_EMPTY)
+    private List<ReqMultiCallItem> callList = new ArrayList<>();
+}
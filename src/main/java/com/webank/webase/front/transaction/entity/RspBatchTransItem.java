@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.transaction.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * result of one transaction in batchHandleWithSign.
+ * data is call result or receipt if code is 0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RspBatchTransItem {
+    /**
+     * index in request's transList
+     */
+    private int index;
+    private int code;
+    private String message;
+    private Object data;
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.transaction.entity;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * result of multiCall.
+ * consistent is false if block height still changed during the last retry,
+ * then calls may be read at different blocks
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RspMultiCall {
+    /**
+     * block height after all calls returned
+     */
+    private long blockNumber;
+    private boolean consistent;
+    /**
+     * result of each call in order of callList
+     */
+    private List<RspBatchTransItem> resultList;
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.txindex;
+
+import com.webank.webase.front.txindex.entity.TxIndex;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+
+public interface TxIndexRepository extends CrudRepository<TxIndex, String> {
+
+    @Query(value = "select t from TxIndex t where t.groupId = ?1 "
+        + "and (t.fromAddress = ?2 or t.toAddress = ?2)")
+    Page<TxIndex> findByAddress(int groupId, String address, Pageable pageable);
+
+    Page<TxIndex> findByGroupIdAndToAddress(int groupId, String toAddress, Pageable pageable);
+
+    Page<TxIndex> findByGroupIdAndToAddressAndMethodId(int groupId, String toAddress,
+        String methodId, Pageable pageable);
+
+    List<TxIndex> findByGroupIdAndBlockNumberOrderByTransIndex(int groupId, long blockNumber);
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.txindex;
+
+import com.webank.webase.front.base.code.ConstantCode;
+import com.webank.webase.front.base.exception.FrontException;
+import com.webank.webase.front.base.properties.Constants;
+import com.webank.webase.front.base.response.BasePageResponse;
+import com.webank.webase.front.txindex.entity.TxIndex;
+import com.webank.webase.front.txindex.entity.TxIndexCheckpoint;
+import com.webank.webase.front.util.Address;
+import com.webank.webase.front.web3api.BlockHeightTracker;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.fisco.bcos.web3j.protocol.Web3j;
+import org.fisco.bcos.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.fisco.bcos.web3j.protocol.core.methods.response.BcosBlock;
+import org.fisco.bcos.web3j.protocol.core.methods.response.BcosBlock.TransactionObject;
+import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * index transactions of groups by address and contract into db.
+ * follows new blocks by block notify, and backfills history from txIndexStartBlock,
+ * blocks of a batch are fetched from node concurrently.
+ * a batch is saved before its checkpoint, so a batch saved twice overwrites the same rows
+ */
+@Slf4j
+@Service
+public class TxIndexService {
+
+    private static final String ZERO_ADDRESS = "0x0000000000000000000000000000000000000000";
+    private static final int METHOD_ID_LENGTH = 10;
+
+    @Autowired
+    private Constants constants;
+    @Autowired
+    private Map<Integer, Web3j> web3jMap;
+    @Autowired
+    private BlockHeightTracker blockHeightTracker;
+    @Autowired
+    private TxIndexRepository txIndexRepository;
+    @Autowired
+    private TxIndexCheckpointRepository checkpointRepository;
+    @Autowired
+    @Qualifier(value = "txIndexExecutor")
+    private ExecutorService txIndexExecutor;
+
+    /**
+     * one indexing task of group at the same time
+     */
+    private final Map<Integer, AtomicBoolean> runningMap = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return constants.isTxIndexEnabled();
+    }
+
+    /**
+     * called by block notify
+     */
+    public void onNewBlock(int groupId) {
+        if (isEnabled()) {
+            trigger(groupId);
+        }
+    }
+
+    /**
+     * continue backfill and catch up blocks of missed notify
+     */
+    @Scheduled(fixedDelayString = "${constant.txIndexIntervalMs:5000}")
+    public void indexAll() {
+        if (!isEnabled()) {
+            return;
+        }
+        for (Integer groupId : web3jMap.keySet()) {
+            trigger(groupId);
+        }
+    }
+
+    /**
+     * transactions from or to address, latest first
+     */
+    public BasePageResponse getTxsByAddress(int groupId, String address, int pageNumber,
+        int pageSize) {
+        Page<TxIndex> page = txIndexRepository.findByAddress(groupId,
+            checkAddress(address), pageable(pageNumber, pageSize));
+        return new BasePageResponse(ConstantCode.RET_SUCCESS, page.getContent(),
+            page.getTotalElements());
+    }
+
+    /**
+     * transactions to contract (and its deploy), latest first
+     *
+     * @param methodId optional, such as 0xa9059cbb
+     */
+    public BasePageResponse getTxsByContract(int groupId, String contractAddress,
+        String methodId, int pageNumber, int pageSize) {
+        String address = checkAddress(contractAddress);
+        Pageable pageable = pageable(pageNumber, pageSize);
+        Page<TxIndex> page = StringUtils.isBlank(methodId)
+            ? txIndexRepository.findByGroupIdAndToAddress(groupId, address, pageable)
+            : txIndexRepository.findByGroupIdAndToAddressAndMethodId(groupId, address,
+                methodId.toLowerCase(), pageable);
+        return new BasePageResponse(ConstantCode.RET_SUCCESS, page.getContent(),
+            page.getTotalElements());
+    }
+
+    /**
+     * hashes of transactions in block in order of index, empty if block is not indexed yet
+     */
+    public List<String> getTxHashesByBlock(int groupId, long blockNumber) {
+        checkEnabled();
+        return txIndexRepository.findByGroupIdAndBlockNumberOrderByTransIndex(groupId,
+            blockNumber).stream().map(TxIndex::getTransHash).collect(Collectors.toList());
+    }
+
+    /**
+     * block number indexed up to, -1 if none
+     */
+    public long getIndexedBlockNumber(int groupId) {
+        TxIndexCheckpoint checkpoint = checkpointRepository.findOne(groupId);
+        return checkpoint == null ? constants.getTxIndexStartBlock() - 1
+            : checkpoint.getBlockNumber();
+    }
+
+    private void trigger(int groupId) {
+        AtomicBoolean running = runningMap.computeIfAbsent(groupId, k -> new AtomicBoolean());
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            txIndexExecutor.execute(() -> {
+                try {
+                    indexGroup(groupId);
+                } catch (RuntimeException e) {
+                    log.warn("index transactions fail. groupId:{} error:{}", groupId,
+                        e.getMessage());
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+        }
+    }
+
+    /**
+     * index batches until block height of group
+     */
+    private void indexGroup(int groupId) {
+        Web3j web3j = web3jMap.get(groupId);
+        if (web3j == null) {
+            return;
+        }
+        long height = blockHeightTracker.getBlockNumber(groupId, web3j).longValue();
+        long indexed = getIndexedBlockNumber(groupId);
+        while (indexed < height) {
+            long from = indexed + 1;
+            long to = Math.min(height, indexed + constants.getTxIndexBatchBlocks());
+            List<TxIndex> txIndexList = fetchRange(groupId, web3j, from, to);
+            if (!txIndexList.isEmpty()) {
+                txIndexRepository.save(txIndexList);
+            }
+            saveCheckpoint(groupId, to);
+            log.debug("index transactions of group:{} block:[{}, {}] count:{}", groupId, from,
+                to, txIndexList.size());
+            indexed = to;
+        }
+    }
+
+    /**
+     * fetch blocks of range, txIndexParallelism blocks in flight
+     */
+    private List<TxIndex> fetchRange(int groupId, Web3j web3j, long from, long to) {
+        List<TxIndex> txIndexList = new ArrayList<>();
+        int parallelism = Math.max(1, constants.getTxIndexParallelism());
+        for (long start = from; start <= to; start += parallelism) {
+            long end = Math.min(to, start + parallelism - 1);
+            List<CompletableFuture<BcosBlock>> futures = new ArrayList<>();
+            for (long number = start; number <= end; number++) {
+                futures.add(web3j.getBlockByNumber(
+                    new DefaultBlockParameterNumber(number), true).sendAsync());
+            }
+            for (CompletableFuture<BcosBlock> future : futures) {
+                BcosBlock.Block block = future.join().getBlock();
+                if (block == null) {
+                    throw new FrontException(ConstantCode.NODE_REQUEST_FAILED);
+                }
+                for (BcosBlock.TransactionResult result : block.getTransactions()) {
+                    txIndexList.add(toTxIndex(groupId, web3j, (TransactionObject) result));
+                }
+            }
+        }
+        return txIndexList;
+    }
+
+    private TxIndex toTxIndex(int groupId, Web3j web3j, TransactionObject transaction) {
+        TxIndex txIndex = new TxIndex();
+        txIndex.setTransHash(transaction.getHash());
+        txIndex.setGroupId(groupId);
+        txIndex.setBlockNumber(transaction.getBlockNumber().longValue());
+        txIndex.setTransIndex(transaction.getTransactionIndex().intValue());
+        txIndex.setFromAddress(lower(transaction.getFrom()));
+        String to = transaction.getTo();
+        if (StringUtils.isBlank(to) || ZERO_ADDRESS.equals(to)) {
+            // deploy, index by created contract
+            txIndex.setDeploy(true);
+            txIndex.setToAddress(lower(getContractAddress(web3j, transaction.getHash())));
+            txIndex.setMethodId("");
+        } else {
+            txIndex.setToAddress(lower(to));
+            String input = transaction.getInput();
+            txIndex.setMethodId(input != null && input.length() >= METHOD_ID_LENGTH
+                ? input.substring(0, METHOD_ID_LENGTH).toLowerCase() : "");
+        }
+        return txIndex;
+    }
+
+    private static String getContractAddress(Web3j web3j, String transHash) {
+        try {
+            return web3j.getTransactionReceipt(transHash).send().getTransactionReceipt()
+                .map(TransactionReceipt::getContractAddress).orElse(null);
+        } catch (IOException e) {
+            log.error("get receipt of deploy fail. transHash:{}", transHash, e);
+            throw new FrontException(ConstantCode.NODE_REQUEST_FAILED);
+        }
+    }
+
+    private void saveCheckpoint(int groupId, long blockNumber) {
+        TxIndexCheckpoint checkpoint = new TxIndexCheckpoint();
+        checkpoint.setGroupId(groupId);
+        checkpoint.setBlockNumber(blockNumber);
+        checkpoint.setModifyTime(System.currentTimeMillis());
+        checkpointRepository.save(checkpoint);
+    }
+
+    private void checkEnabled() {
+        if (!isEnabled()) {
+            throw new FrontException(ConstantCode.TX_INDEX_DISABLED);
+        }
+    }
+
+    private String checkAddress(String address) {
+        checkEnabled();
+        if (address == null || address.length() != Address.ValidLen) {
+            throw new FrontException(ConstantCode.PARAM_ADDRESS_IS_INVALID);
+        }
+        return address.toLowerCase();
+    }
+
+    private Pageable pageable(int pageNumber, int pageSize) {
+        if (pageNumber < 1 || pageSize < 1 || pageSize > constants.getTxIndexMaxPageSize()) {
+            throw new FrontException(ConstantCode.PARAM_ERROR);
+        }
+        return new PageRequest(pageNumber - 1, pageSize,
+            new Sort(Sort.Direction.DESC, "blockNumber", "transIndex"));
+    }
+
+    private static String lower(String address) {
+        return address == null ? null : address.toLowerCase();
+    }
+}
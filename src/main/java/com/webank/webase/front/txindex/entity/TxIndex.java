@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.txindex.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import lombok.Data;
+
+/**
+ * index of one transaction by from address, to address (created contract if deploy)
+ * and method id. addresses are lower case
+ */
+@Data
+@Entity
+@Table(indexes = {
+    @Index(columnList = "groupId,fromAddress,blockNumber"),
+    @Index(columnList = "groupId,toAddress,blockNumber"),
+    @Index(columnList = "groupId,blockNumber")})
+public class TxIndex {
+    @Id
+    @Column(length = 66)
+    private String transHash;
+    private int groupId;
+    private long blockNumber;
+    private int transIndex;
+    @Column(length = 42)
+    private String fromAddress;
+    @Column(length = 42)
+    private String toAddress;
+    /**
+     * first 4 bytes of input, empty if deploy
+     */
+    @Column(length = 10)
+    private String methodId;
+    private boolean deploy;
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.txindex.entity;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import lombok.Data;
+
+/**
+ * blocks of group are indexed continuously up to blockNumber
+ */
+@Data
+@Entity
+public class TxIndexCheckpoint {
+    @Id
+    private Integer groupId;
+    private long blockNumber;
+    private Long modifyTime;
+}
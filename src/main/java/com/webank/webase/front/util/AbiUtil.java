@@ -14,6 +14,7 @@
 
 package com.webank.webase.front.util;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -137,9 +138,22 @@ public class AbiUtil {
      */
     public static List<Type> inputFormat(List<String> funcInputTypes, List<Object> params)
             throws FrontException {
+        return inputFormat(funcInputTypes, getInputClasses(funcInputTypes), params);
+    }
+
+    /**
+     * input parameter format with type classes resolved already.
+     *
+     * @param funcInputTypes list
+     * @param inputClasses type class of each input, element's class if input is array
+     * @param params list
+     * @return
+     */
+    public static List<Type> inputFormat(List<String> funcInputTypes,
+            List<Class<? extends Type>> inputClasses, List<Object> params) throws FrontException {
         List<Type> finalInputs = new ArrayList<>();
         for (int i = 0; i < funcInputTypes.size(); i++) {
-            Class<? extends Type> inputType = null;
+            Class<? extends Type> inputType = inputClasses.get(i);
             Object input = null;
             if (funcInputTypes.get(i).contains("[")
                     && funcInputTypes.get(i).contains("]")) {
@@ -150,18 +164,15 @@ public class AbiUtil {
                     log.error("params of index {} parse List error: {}", i, params.get(i));
                     throw new FrontException(ConstantCode.PARAM_ERROR);
                 }
+                String elementType =
+                        funcInputTypes.get(i).substring(0, funcInputTypes.get(i).indexOf("["));
                 List<Type> arrParams = new ArrayList<>();
                 for (int j = 0; j < arrList.size(); j++) {
-                    inputType = AbiTypes.getType(
-                            funcInputTypes.get(i).substring(0, funcInputTypes.get(i).indexOf("[")));
-                    input = ContractTypeUtil.parseByType(
-                            funcInputTypes.get(i).substring(0, funcInputTypes.get(i).indexOf("[")),
-                            arrList.get(j).toString());
+                    input = ContractTypeUtil.parseByType(elementType, arrList.get(j).toString());
                     arrParams.add(ContractTypeUtil.generateClassFromInput(input.toString(), inputType));
                 }
                 finalInputs.add(new DynamicArray<>(arrParams));
             } else {
-                inputType = AbiTypes.getType(funcInputTypes.get(i));
                 input = ContractTypeUtil.parseByType(funcInputTypes.get(i),
                         params.get(i).toString());
                 finalInputs.add(ContractTypeUtil.generateClassFromInput(input.toString(), inputType));
@@ -170,6 +181,25 @@ public class AbiUtil {
         return finalInputs;
     }
 
+    /**
+     * get type class of each input, element's class if input is array.
+     *
+     * @param funcInputTypes list
+     * @return
+     */
+    public static List<Class<? extends Type>> getInputClasses(List<String> funcInputTypes)
+            throws FrontException {
+        List<Class<? extends Type>> inputClasses = new ArrayList<>(funcInputTypes.size());
+        for (String inputType : funcInputTypes) {
+            if (inputType.contains("[") && inputType.contains("]")) {
+                inputClasses.add(AbiTypes.getType(inputType.substring(0, inputType.indexOf("["))));
+            } else {
+                inputClasses.add(AbiTypes.getType(inputType));
+            }
+        }
+        return inputClasses;
+    }
+
     /**
      * output parameter format.
      * 
@@ -205,31 +235,46 @@ public class AbiUtil {
     public static Object callResultParse(List<String> funOutputTypes, List<Type> typeList)
         throws FrontException {
         if (funOutputTypes.size() == typeList.size()) {
-            List<Object> result = new ArrayList<>();
+            List<Object> result = new ArrayList<>(funOutputTypes.size());
             for (int i = 0; i < funOutputTypes.size(); i++) {
-                Class<? extends Type> outputType = null;
-                Object value = null;
-                if (funOutputTypes.get(i).contains("[")
-                        && funOutputTypes.get(i).contains("]")) {
-                    List<Object> values = new ArrayList<>();
+                String funOutputType = funOutputTypes.get(i);
+                if (funOutputType.contains("[") && funOutputType.contains("]")) {
+                    Class<? extends Type> outputType =
+                        AbiTypes.getType(funOutputType.substring(0, funOutputType.indexOf("[")));
                     List<Type> results = (List<Type>) typeList.get(i).getValue();
-                    for (int j = 0; j < results.size(); j++) {
-                        outputType = AbiTypes.getType(funOutputTypes.get(i).substring(0,
-                                funOutputTypes.get(i).indexOf("[")));
-                        value = ContractTypeUtil.decodeResult(results.get(j), outputType);
-                        values.add(value);
+                    List<Object> values = new ArrayList<>(results.size());
+                    for (Type element : results) {
+                        values.add(normalizeValue(
+                            ContractTypeUtil.decodeResult(element, outputType)));
                     }
                     result.add(values);
                 } else {
-                    outputType = AbiTypes.getType(funOutputTypes.get(i));
-                    value = ContractTypeUtil.decodeResult(typeList.get(i), outputType);
-                    result.add(value);
+                    Class<? extends Type> outputType = AbiTypes.getType(funOutputType);
+                    result.add(normalizeValue(
+                        ContractTypeUtil.decodeResult(typeList.get(i), outputType)));
                 }
             }
-            return JsonUtils.toJavaObject(JsonUtils.toJSONString(result), Object.class);
+            return result;
         }
         throw new FrontException("output parameter not match");
     }
+
+    /**
+     * narrow a decoded value to what a json round trip would give back:
+     * integers become Integer or Long when they fit, like jackson's untyped parsing.
+     */
+    static Object normalizeValue(Object value) {
+        if (value instanceof BigInteger) {
+            BigInteger number = (BigInteger) value;
+            if (number.bitLength() < Integer.SIZE) {
+                return number.intValue();
+            }
+            if (number.bitLength() < Long.SIZE) {
+                return number.longValue();
+            }
+        }
+        return value;
+    }
     
     /**
      * receiptParse.
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.util;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * wait for futures started at the same time with a shared deadline
+ */
+@Slf4j
+public class FutureUtils {
+
+    private FutureUtils() {
+    }
+
+    /**
+     * future is not cancelled after deadline, which would not stop the running task,
+     * so the task should end in time by itself, such as request with timeout
+     *
+     * @param deadline time in millis
+     * @param name name of call in log
+     * @return empty if failed or not done before deadline
+     */
+    public static <T> Optional<T> getBefore(CompletableFuture<T> future, long deadline,
+        String name) {
+        try {
+            long waitMillis = Math.max(0, deadline - System.currentTimeMillis());
+            return Optional.ofNullable(future.get(waitMillis, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            log.warn("{} timeout", name);
+        } catch (ExecutionException e) {
+            log.warn("{} fail. error:{}", name, e.getCause() == null ? e.getMessage()
+                : e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            log.warn("{} interrupted", name);
+            Thread.currentThread().interrupt();
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.util;
+
+import com.webank.webase.front.base.code.ConstantCode;
+import com.webank.webase.front.base.exception.FrontException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * merge concurrent calls of the same key into one call, all callers get its result.
+ * result can also be shared in a fresh window after the call returned;
+ * failed result is not shared after the call
+ */
+public class SingleFlight<K, V> {
+
+    /**
+     * purge expired results when there are more keys
+     */
+    private static final int PURGE_THRESHOLD = 1024;
+
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * @param freshMillis time to share result after the call returned, 0 to share in-flight only
+     * @param supplier the call, should throw runtime exception only
+     */
+    public V execute(K key, long freshMillis, Supplier<V> supplier) {
+        long freshNanos = TimeUnit.MILLISECONDS.toNanos(freshMillis);
+        while (true) {
+            Flight<V> flight = flights.get(key);
+            if (flight != null && flight.isShared(freshNanos)) {
+                return await(flight.future);
+            }
+            Flight<V> newFlight = new Flight<>();
+            boolean owner = flight == null ? flights.putIfAbsent(key, newFlight) == null
+                : flights.replace(key, flight, newFlight);
+            if (owner) {
+                return call(key, newFlight, freshNanos, supplier);
+            }
+        }
+    }
+
+    public int size() {
+        return flights.size();
+    }
+
+    private V call(K key, Flight<V> flight, long freshNanos, Supplier<V> supplier) {
+        try {
+            V value = supplier.get();
+            flight.completeTime = System.nanoTime();
+            flight.future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            if (freshNanos <= 0 || flight.future.isCompletedExceptionally()) {
+                flights.remove(key, flight);
+            } else if (flights.size() > PURGE_THRESHOLD) {
+                flights.values().removeIf(f -> f.future.isDone() && !f.isShared(freshNanos));
+            }
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FrontException(ConstantCode.SYSTEM_ERROR.getCode(), "interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new FrontException(ConstantCode.SYSTEM_ERROR.getCode(), cause.getMessage());
+        }
+    }
+
+    private static class Flight<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private volatile long completeTime;
+
+        /**
+         * in flight, or returned successfully in fresh window
+         */
+        boolean isShared(long freshNanos) {
+            if (!future.isDone()) {
+                return true;
+            }
+            return !future.isCompletedExceptionally()
+                && System.nanoTime() - completeTime < freshNanos;
+        }
+    }
+}
@@ -18,6 +18,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.webank.webase.front.base.code.ConstantCode;
 import com.webank.webase.front.base.exception.FrontException;
 import com.webank.webase.front.base.properties.Constants;
+import com.webank.webase.front.keystore.SignClient;
 import com.webank.webase.front.util.CommonUtils;
 import com.webank.webase.front.util.JsonUtils;
 import lombok.extern.slf4j.Slf4j;
@@ -38,7 +39,7 @@ public class VersionService {
     @Autowired
     RestTemplate restTemplate;
     @Autowired
-    private Constants constants;
+    private SignClient signClient;
 
     /**
      * get webase-sign version
@@ -46,7 +47,7 @@ public class VersionService {
     public String getSignServerVersion() {
         try {
             // webase-sign api(v1.4.0) support
-            String url = String.format(Constants.WEBASE_SIGN_VERSION_URI, constants.getKeyServer());
+            String url = String.format(Constants.WEBASE_SIGN_VERSION_URI, signClient.getKeyServer());
             log.info("getSignServerVersion url:{}", url);
             HttpHeaders headers = CommonUtils.buildHeaders();
             HttpEntity<String> formEntity =
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.web3api;
+
+import com.webank.webase.front.base.code.ConstantCode;
+import com.webank.webase.front.base.exception.FrontException;
+import com.webank.webase.front.util.SingleFlight;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.fisco.bcos.web3j.protocol.Web3j;
+import org.fisco.bcos.web3j.utils.BlockLimit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * block height of groups, updated by block notify and reconciled with node periodically,
+ * so that queries need not ask node for block number each time
+ */
+@Slf4j
+@Component
+public class BlockHeightTracker {
+
+    public static final long UNKNOWN_HEIGHT = -1L;
+
+    @Autowired
+    private Map<Integer, Web3j> web3jMap;
+
+    private final Map<Integer, GroupHeight> heightMap = new ConcurrentHashMap<>();
+    /**
+     * concurrent refresh of group share one request
+     */
+    private final SingleFlight<Integer, BigInteger> refreshFlight = new SingleFlight<>();
+
+    /**
+     * called by block notify
+     *
+     * @return true if height of group increased
+     */
+    public boolean onBlockNotify(int groupId, BigInteger blockNumber) {
+        GroupHeight groupHeight = getGroupHeight(groupId);
+        groupHeight.notified = true;
+        return groupHeight.update(blockNumber.longValue());
+    }
+
+    /**
+     * each node of group notifies the same block
+     *
+     * @return true if block is not notified before
+     */
+    public boolean isFirstNotify(int groupId, BigInteger blockNumber) {
+        long newHeight = blockNumber.longValue();
+        return getGroupHeight(groupId).notifiedHeight.getAndAccumulate(newHeight, Math::max)
+            < newHeight;
+    }
+
+    /**
+     * @return -1 if unknown
+     */
+    public long getBlockHeight(int groupId) {
+        GroupHeight groupHeight = heightMap.get(groupId);
+        return groupHeight == null ? UNKNOWN_HEIGHT : groupHeight.height.get();
+    }
+
+    /**
+     * whether height of group is pushed by block notify,
+     * or only known by reconcile which may be behind in an interval
+     */
+    public boolean isNotified(int groupId) {
+        GroupHeight groupHeight = heightMap.get(groupId);
+        return groupHeight != null && groupHeight.notified;
+    }
+
+    /**
+     * block number of group, ask node if unknown yet
+     */
+    public BigInteger getBlockNumber(int groupId, Web3j web3j) {
+        long height = getBlockHeight(groupId);
+        return height == UNKNOWN_HEIGHT ? refresh(groupId, web3j) : BigInteger.valueOf(height);
+    }
+
+    /**
+     * ask node for block number of group and update
+     */
+    public BigInteger refresh(int groupId, Web3j web3j) {
+        return refreshFlight.execute(groupId, 0, () -> {
+            try {
+                BigInteger blockNumber = web3j.getBlockNumber().send().getBlockNumber();
+                getGroupHeight(groupId).update(blockNumber.longValue());
+                return blockNumber;
+            } catch (IOException e) {
+                log.error("refresh block number fail. groupId:{}", groupId, e);
+                throw new FrontException(ConstantCode.NODE_REQUEST_FAILED);
+            }
+        });
+    }
+
+    /**
+     * block limit of new transaction, same as web3j's getBlockNumberCache
+     */
+    public BigInteger getBlockLimit(int groupId, Web3j web3j) {
+        long height = getBlockHeight(groupId);
+        if (height == UNKNOWN_HEIGHT) {
+            return web3j.getBlockNumberCache();
+        }
+        return BigInteger.valueOf(height + BlockLimit.blockLimit);
+    }
+
+    /**
+     * reconcile in case of missed block notify
+     */
+    @Scheduled(fixedDelayString = "${constant.blockHeightReconcileMs:2000}")
+    public void reconcile() {
+        for (Map.Entry<Integer, Web3j> entry : web3jMap.entrySet()) {
+            entry.getValue().getBlockNumber().sendAsync().whenComplete((rsp, ex) -> {
+                if (ex != null || rsp == null || rsp.getResult() == null) {
+                    log.warn("reconcile block number fail. groupId:{}", entry.getKey(), ex);
+                    return;
+                }
+                if (getGroupHeight(entry.getKey()).update(rsp.getBlockNumber().longValue())) {
+                    log.debug("reconcile block number of group:{} to {}", entry.getKey(),
+                        rsp.getBlockNumber());
+                }
+            });
+        }
+    }
+
+    private GroupHeight getGroupHeight(int groupId) {
+        return heightMap.computeIfAbsent(groupId, k -> new GroupHeight());
+    }
+
+    private static class GroupHeight {
+        private final AtomicLong height = new AtomicLong(UNKNOWN_HEIGHT);
+        private final AtomicLong notifiedHeight = new AtomicLong(UNKNOWN_HEIGHT);
+        private volatile boolean notified;
+
+        boolean update(long newHeight) {
+            return height.getAndAccumulate(newHeight, Math::max) < newHeight;
+        }
+    }
+}
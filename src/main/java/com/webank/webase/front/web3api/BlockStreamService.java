@@ -0,0 +1,184 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.web3api;
+
+import com.webank.webase.front.base.code.ConstantCode;
+import com.webank.webase.front.base.exception.FrontException;
+import com.webank.webase.front.base.properties.Constants;
+import com.webank.webase.front.util.JsonUtils;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.fisco.bcos.web3j.protocol.Web3j;
+import org.fisco.bcos.web3j.protocol.core.DefaultBlockParameter;
+import org.fisco.bcos.web3j.protocol.core.Response;
+import org.fisco.bcos.web3j.protocol.core.methods.response.BcosBlock;
+import org.fisco.bcos.web3j.protocol.core.methods.response.BcosBlockHeader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+/**
+ * stream blocks of a range as ndjson, one block per line in order of block number.
+ * at most blockStreamParallelism blocks are fetched from node at the same time,
+ * and a block is written as soon as blocks before it are written
+ */
+@Slf4j
+@Service
+public class BlockStreamService {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private Web3ApiService web3ApiService;
+    @Autowired
+    private BlockHeightTracker blockHeightTracker;
+    @Autowired
+    private Web3Cache web3Cache;
+    @Autowired
+    private Constants constants;
+    @Autowired
+    @Qualifier(value = "blockStreamExecutor")
+    private ExecutorService blockStreamExecutor;
+
+    /**
+     * @param withTxs return full transactions instead of transaction hashes
+     * @param headersOnly return block headers with sealers
+     */
+    public ResponseBodyEmitter streamBlocks(int groupId, BigInteger from, BigInteger to,
+            boolean withTxs, boolean headersOnly) {
+        Web3j web3j = web3ApiService.getWeb3j(groupId);
+        checkRange(groupId, web3j, from, to);
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(constants.getBlockStreamMaxWait() * 1000L);
+        try {
+            blockStreamExecutor.execute(() -> stream(emitter, groupId, web3j, from.longValue(),
+                to.longValue(), withTxs, headersOnly));
+        } catch (RejectedExecutionException e) {
+            throw new FrontException(ConstantCode.BLOCK_STREAM_BUSY);
+        }
+        return emitter;
+    }
+
+    private void checkRange(int groupId, Web3j web3j, BigInteger from, BigInteger to) {
+        if (from.signum() < 0 || from.compareTo(to) > 0) {
+            throw new FrontException(ConstantCode.BLOCK_RANGE_ERROR);
+        }
+        if (to.subtract(from).compareTo(BigInteger.valueOf(constants.getBlockStreamMaxSize())) >= 0) {
+            throw new FrontException(ConstantCode.BLOCK_RANGE_SIZE_EXCEED);
+        }
+        if (to.compareTo(blockHeightTracker.getBlockNumber(groupId, web3j)) > 0
+                && to.compareTo(blockHeightTracker.refresh(groupId, web3j)) > 0) {
+            throw new FrontException(ConstantCode.BLOCK_RANGE_ERROR);
+        }
+    }
+
+    private void stream(ResponseBodyEmitter emitter, int groupId, Web3j web3j, long from,
+            long to, boolean withTxs, boolean headersOnly) {
+        log.info("streamBlocks start. groupId:{} from:{} to:{}", groupId, from, to);
+        long startTime = System.currentTimeMillis();
+        Deque<CompletableFuture<Object>> window = new ArrayDeque<>();
+        long next = from;
+        long written = from - 1;
+        try {
+            while (next <= to || !window.isEmpty()) {
+                while (next <= to && window.size() < constants.getBlockStreamParallelism()) {
+                    window.add(fetch(groupId, web3j, next++, withTxs, headersOnly));
+                }
+                Object block = window.poll().join();
+                emitter.send(JsonUtils.toJSONString(block) + "\n", APPLICATION_NDJSON);
+                written++;
+            }
+            emitter.complete();
+            log.info("streamBlocks end. groupId:{} from:{} to:{} useTime:{}", groupId, from, to,
+                System.currentTimeMillis() - startTime);
+        } catch (IOException e) {
+            // client is gone
+            log.warn("streamBlocks stopped. groupId:{} written to:{} error:{}", groupId,
+                written, e.getMessage());
+            window.forEach(future -> future.cancel(true));
+            emitter.completeWithError(e);
+        } catch (RuntimeException e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null
+                ? e.getCause() : e;
+            log.error("streamBlocks fail. groupId:{} written to:{}", groupId,
+                written, cause);
+            window.forEach(future -> future.cancel(true));
+            sendError(emitter, cause);
+        }
+    }
+
+    private CompletableFuture<Object> fetch(int groupId, Web3j web3j, long blockNumber,
+            boolean withTxs, boolean headersOnly) {
+        BigInteger number = BigInteger.valueOf(blockNumber);
+        if (headersOnly) {
+            return web3j.getBlockHeaderByNumber(number, true).sendAsync()
+                .thenApply(rsp -> checkResult(rsp, blockNumber).getBlockHeader());
+        }
+        if (!withTxs) {
+            return web3j.getBlockByNumber(DefaultBlockParameter.valueOf(number), false)
+                .sendAsync().thenApply(rsp -> checkResult(rsp, blockNumber).getBlock());
+        }
+        BcosBlock.Block cached = web3Cache.getBlockByNumber(groupId, number);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return web3j.getBlockByNumber(DefaultBlockParameter.valueOf(number), true).sendAsync()
+            .thenApply(rsp -> {
+                BcosBlock.Block block = checkResult(rsp, blockNumber).getBlock();
+                web3Cache.putBlock(groupId, block);
+                return block;
+            });
+    }
+
+    private static <T extends Response<?>> T checkResult(T rsp, long blockNumber) {
+        if (rsp.hasError() || rsp.getResult() == null) {
+            String message = rsp.hasError() ? rsp.getError().getMessage() : "empty result";
+            throw new FrontException(ConstantCode.NODE_REQUEST_FAILED.getCode(),
+                String.format("get block:%d fail, %s", blockNumber, message));
+        }
+        return rsp;
+    }
+
+    /**
+     * status code is sent already, so error is written as the last line
+     */
+    private static void sendError(ResponseBodyEmitter emitter, Throwable cause) {
+        Map<String, Object> error = new HashMap<>();
+        if (cause instanceof FrontException && ((FrontException) cause).getRetCode() != null) {
+            error.put("code", ((FrontException) cause).getRetCode().getCode());
+        } else {
+            error.put("code", ConstantCode.SYSTEM_ERROR.getCode());
+        }
+        error.put("errorMessage", cause.getMessage());
+        try {
+            emitter.send(JsonUtils.toJSONString(error) + "\n", APPLICATION_NDJSON);
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // client is gone or stream timed out
+            log.warn("streamBlocks send error fail:{}", e.getMessage());
+        }
+    }
+}
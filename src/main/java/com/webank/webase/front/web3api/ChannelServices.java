@@ -0,0 +1,74 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.web3api;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.Timer;
+import java.lang.reflect.Field;
+import java.util.concurrent.ScheduledExecutorService;
+import lombok.extern.slf4j.Slf4j;
+import org.fisco.bcos.channel.client.Service;
+import org.fisco.bcos.channel.handler.ChannelConnections;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * sdk channel service has no stop method, resources started by run are released here:
+ * heartbeat and reconnect task, connections and event loop of its channel connections,
+ * and the timer of request timeout
+ */
+@Slf4j
+final class ChannelServices {
+
+    private ChannelServices() {
+    }
+
+    /**
+     * close channel service of a single group, which is not used after
+     */
+    static void close(Service service) {
+        for (ChannelConnections connections : service.getAllChannelConnections()
+            .getAllChannelConnections()) {
+            if (connections.getGroupId() != service.getGroupId()) {
+                continue;
+            }
+            ScheduledExecutorService scheduler =
+                getField(connections, "scheduledExecutorService", ScheduledExecutorService.class);
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+            }
+            connections.getNetworkConnections().values().forEach(ChannelHandlerContext::close);
+            Bootstrap bootstrap = getField(connections, "bootstrap", Bootstrap.class);
+            if (bootstrap != null && bootstrap.config().group() != null) {
+                bootstrap.config().group().shutdownGracefully();
+            }
+        }
+        Timer timeoutHandler = getField(service, "timeoutHandler", Timer.class);
+        if (timeoutHandler != null) {
+            timeoutHandler.stop();
+        }
+    }
+
+    private static <T> T getField(Object target, String name, Class<T> type) {
+        Field field = ReflectionUtils.findField(target.getClass(), name, type);
+        if (field == null) {
+            log.warn("field {} not found in {}, not closed", name, target.getClass().getName());
+            return null;
+        }
+        ReflectionUtils.makeAccessible(field);
+        return type.cast(ReflectionUtils.getField(field, target));
+    }
+}
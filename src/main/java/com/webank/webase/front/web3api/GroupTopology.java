@@ -0,0 +1,131 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.web3api;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.webank.webase.front.base.exception.FrontException;
+import com.webank.webase.front.base.properties.Constants;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * groups of node, refreshed periodically and after group operations in background,
+ * so that request of a missing group never waits for group list of node.
+ * missing group triggers at most one refresh in groupUnknownTtlMs
+ */
+@Slf4j
+@Component
+public class GroupTopology {
+
+    @Autowired
+    private Constants constants;
+    @Autowired
+    private Web3ApiService web3ApiService;
+    @Autowired
+    @Qualifier(value = "nodeQueryExecutor")
+    private ExecutorService nodeQueryExecutor;
+
+    /**
+     * immutable snapshot of group id list from node
+     */
+    private volatile Set<Integer> groupIdSet = Collections.emptySet();
+    private Cache<Integer, Boolean> unknownGroupCache;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    @PostConstruct
+    public void init() {
+        unknownGroupCache = CacheBuilder.newBuilder()
+            .maximumSize(constants.getGroupUnknownCacheSize())
+            .expireAfterWrite(constants.getGroupUnknownTtlMs(), TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    public Set<Integer> getGroupIdSet() {
+        return groupIdSet;
+    }
+
+    public boolean contains(int groupId) {
+        return groupIdSet.contains(groupId);
+    }
+
+    /**
+     * called when web3j of group is missing
+     *
+     * @return true if a refresh is triggered, false if group is missing recently
+     */
+    public boolean onMiss(int groupId) {
+        if (unknownGroupCache.asMap().putIfAbsent(groupId, Boolean.TRUE) != null) {
+            return false;
+        }
+        refreshAsync();
+        return true;
+    }
+
+    /**
+     * refresh in background, skipped if a refresh is running
+     */
+    public void refreshAsync() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        nodeQueryExecutor.execute(() -> {
+            try {
+                refresh();
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    /**
+     * group list of node refreshes web3j map and this snapshot
+     */
+    @Scheduled(fixedDelayString = "${constant.groupTopologyRefreshMs:10000}")
+    public void refresh() {
+        try {
+            web3ApiService.getGroupList();
+        } catch (FrontException e) {
+            log.warn("refresh group list fail. error:{}", e.getMessage());
+        }
+    }
+
+    /**
+     * called with group list from node
+     */
+    void update(List<String> groupIdList) {
+        Set<Integer> newGroupIdSet = new HashSet<>(groupIdList.size());
+        for (String groupId : groupIdList) {
+            newGroupIdSet.add(Integer.parseInt(groupId));
+        }
+        if (!newGroupIdSet.equals(groupIdSet)) {
+            log.info("group list changed from {} to {}", groupIdSet, newGroupIdSet);
+            groupIdSet = Collections.unmodifiableSet(newGroupIdSet);
+        }
+        unknownGroupCache.invalidateAll(newGroupIdSet);
+    }
+}
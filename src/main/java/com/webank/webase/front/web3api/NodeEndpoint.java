@@ -0,0 +1,127 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.web3api;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import org.fisco.bcos.web3j.protocol.Web3j;
+import org.fisco.bcos.web3j.protocol.channel.ChannelEthereumService;
+
+/**
+ * one node of group connected by its own channel service, with latency ewma and circuit breaker.
+ * breaker opens after continuous failures, and is closed by next success of request or probe
+ */
+class NodeEndpoint {
+
+    static final String STATE_CLOSED = "CLOSED";
+    static final String STATE_OPEN = "OPEN";
+    private static final double EWMA_WEIGHT = 0.2;
+
+    @Getter
+    private final String address;
+    @Getter
+    private final ChannelEthereumService ethereumService;
+    /**
+     * web3j of this node only, to probe latency and block number
+     */
+    @Getter
+    private final Web3j probeWeb3j;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private volatile double ewmaMillis;
+    private volatile long blockNumber = BlockHeightTracker.UNKNOWN_HEIGHT;
+    private volatile long openUntil;
+    private final AtomicInteger continuousFailures = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+
+    NodeEndpoint(String address, ChannelEthereumService ethereumService, Web3j probeWeb3j,
+        int failureThreshold, long openMillis) {
+        this.address = address;
+        this.ethereumService = ethereumService;
+        this.probeWeb3j = probeWeb3j;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * open endpoint is available again after openMillis
+     */
+    boolean isAvailable(long now) {
+        return now >= openUntil;
+    }
+
+    /**
+     * lower is better, latency weighted by requests in flight so that load spreads over nodes
+     */
+    double score() {
+        return (ewmaMillis + 1) * (inFlight.get() + 1);
+    }
+
+    void onStart() {
+        inFlight.incrementAndGet();
+        requestCount.increment();
+    }
+
+    void onEnd() {
+        inFlight.decrementAndGet();
+    }
+
+    synchronized void onSuccess(long costMillis) {
+        ewmaMillis = ewmaMillis == 0 ? costMillis
+            : ewmaMillis * (1 - EWMA_WEIGHT) + costMillis * EWMA_WEIGHT;
+        continuousFailures.set(0);
+        openUntil = 0;
+    }
+
+    void onFailure(long now) {
+        failureCount.increment();
+        if (continuousFailures.incrementAndGet() >= failureThreshold) {
+            openUntil = now + openMillis;
+        }
+    }
+
+    void setBlockNumber(long blockNumber) {
+        this.blockNumber = blockNumber;
+    }
+
+    long getBlockNumber() {
+        return blockNumber;
+    }
+
+    String getState(long now) {
+        return isAvailable(now) ? STATE_CLOSED : STATE_OPEN;
+    }
+
+    double getEwmaMillis() {
+        return ewmaMillis;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    long getFailureCount() {
+        return failureCount.sum();
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.web3api;
+
+import com.webank.webase.front.base.config.Web3Config;
+import com.webank.webase.front.base.exception.FrontException;
+import com.webank.webase.front.base.properties.Constants;
+import com.webank.webase.front.metrics.entity.NodeEndpointMetrics;
+import com.webank.webase.front.metrics.entity.NodeRouteMetrics;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.fisco.bcos.channel.client.Service;
+import org.fisco.bcos.web3j.protocol.Web3j;
+import org.fisco.bcos.web3j.protocol.channel.ChannelEthereumService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * route requests of group to its nodes configured in sdk.nodeList or sdk.groupNodeList.
+ * each node is connected by its own channel service, and probed periodically
+ * for latency and block number. group of one node is not routed
+ */
+@Slf4j
+@Component
+public class NodeRouter {
+
+    @Autowired
+    private Web3Config web3Config;
+    @Autowired
+    private Constants constants;
+
+    private final Map<Integer, RoutingEthereumService> routeMap = new ConcurrentHashMap<>();
+
+    /**
+     * ethereum service of group's web3j
+     *
+     * @param service channel service of group connected to all its nodes
+     */
+    public ChannelEthereumService newEthereumService(Service service) {
+        int groupId = service.getGroupId();
+        List<String> nodeList = web3Config.getNodeList(groupId);
+        if (nodeList.size() <= 1) {
+            remove(groupId);
+            return newChannelEthereumService(service);
+        }
+        List<NodeEndpoint> endpoints = new ArrayList<>(nodeList.size());
+        RoutingEthereumService routingService =
+            new RoutingEthereumService(groupId, endpoints, constants.getNodeRouteMaxLag());
+        for (String node : nodeList) {
+            Service nodeService = web3Config.newChannelService(groupId,
+                Collections.singletonList(node));
+            ChannelEthereumService ethereumService = newChannelEthereumService(nodeService);
+            endpoints.add(new NodeEndpoint(node, ethereumService,
+                Web3j.build(ethereumService, groupId), constants.getNodeBreakerFailures(),
+                constants.getNodeBreakerOpenMs()));
+            try {
+                nodeService.run();
+            } catch (Exception e) {
+                log.error("init channel service of node fail. groupId:{} node:{}", groupId, node, e);
+                // close services of nodes already started
+                routingService.close();
+                throw new FrontException("init channel service of node failed: " + node);
+            }
+        }
+        routingService.setTimeout(web3Config.getTimeout());
+        routingService.setChannelService(service);
+        // web3j of group is replaced
+        RoutingEthereumService previous = routeMap.put(groupId, routingService);
+        if (previous != null) {
+            previous.close();
+        }
+        log.info("route group:{} to nodes:{}", groupId, nodeList);
+        return routingService;
+    }
+
+    /**
+     * stop probing nodes of removed group, and close their channel services
+     */
+    public void remove(int groupId) {
+        RoutingEthereumService routingService = routeMap.remove(groupId);
+        if (routingService != null) {
+            routingService.close();
+        }
+    }
+
+    /**
+     * probe latency and block number of each node, which also closes breaker of recovered node
+     */
+    @Scheduled(fixedDelayString = "${constant.nodeRouteProbeMs:1000}")
+    public void probe() {
+        for (RoutingEthereumService routingService : routeMap.values()) {
+            for (NodeEndpoint endpoint : routingService.getEndpoints()) {
+                long start = System.currentTimeMillis();
+                endpoint.getProbeWeb3j().getBlockNumber().sendAsync().whenComplete((rsp, ex) -> {
+                    if (ex != null || rsp == null || rsp.getResult() == null) {
+                        log.warn("probe node fail. groupId:{} node:{}",
+                            routingService.getGroupId(), endpoint.getAddress(), ex);
+                        endpoint.onFailure(System.currentTimeMillis());
+                        return;
+                    }
+                    endpoint.onSuccess(System.currentTimeMillis() - start);
+                    endpoint.setBlockNumber(rsp.getBlockNumber().longValue());
+                });
+            }
+        }
+    }
+
+    public List<NodeRouteMetrics> getMetrics() {
+        long now = System.currentTimeMillis();
+        List<NodeRouteMetrics> metricsList = new ArrayList<>(routeMap.size());
+        for (RoutingEthereumService routingService : routeMap.values()) {
+            List<NodeEndpointMetrics> endpointMetricsList = new ArrayList<>();
+            for (NodeEndpoint endpoint : routingService.getEndpoints()) {
+                NodeEndpointMetrics endpointMetrics = new NodeEndpointMetrics();
+                endpointMetrics.setAddress(endpoint.getAddress());
+                endpointMetrics.setState(endpoint.getState(now));
+                endpointMetrics.setEwmaMillis(endpoint.getEwmaMillis());
+                endpointMetrics.setInFlight(endpoint.getInFlight());
+                endpointMetrics.setBlockNumber(endpoint.getBlockNumber());
+                endpointMetrics.setRequestCount(endpoint.getRequestCount());
+                endpointMetrics.setFailureCount(endpoint.getFailureCount());
+                endpointMetricsList.add(endpointMetrics);
+            }
+            NodeRouteMetrics metrics = new NodeRouteMetrics();
+            metrics.setGroupId(routingService.getGroupId());
+            metrics.setEndpoints(endpointMetricsList);
+            metricsList.add(metrics);
+        }
+        return metricsList;
+    }
+
+    private ChannelEthereumService newChannelEthereumService(Service service) {
+        ChannelEthereumService ethereumService = new ChannelEthereumService();
+        ethereumService.setTimeout(web3Config.getTimeout());
+        ethereumService.setChannelService(service);
+        return ethereumService;
+    }
+}
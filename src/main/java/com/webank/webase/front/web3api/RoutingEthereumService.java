@@ -0,0 +1,189 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.web3api;
+
+import java.io.IOException;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.fisco.bcos.web3j.protocol.channel.ChannelEthereumService;
+import org.fisco.bcos.web3j.protocol.core.JsonRpc2_0Web3j;
+import org.fisco.bcos.web3j.protocol.core.Request;
+import org.fisco.bcos.web3j.protocol.core.Response;
+
+/**
+ * ethereum service of group routing each request to one of its nodes.
+ * read is sent to the node of least latency (weighted by requests in flight),
+ * transaction is sent to the first available node in configured order, that is the preferred sealer.
+ * node which is open by breaker or behind other nodes more than maxLag blocks is skipped,
+ * and request is sent to another node once if failed for connection.
+ * channel service of parent is the group's service with all nodes, used by local block number
+ */
+@Slf4j
+class RoutingEthereumService extends ChannelEthereumService {
+
+    private static final String METHOD_SEND_RAW_TRANSACTION = "sendRawTransaction";
+    private static final String METHOD_SEND_RAW_TRANSACTION_AND_GET_PROOF =
+        "sendRawTransactionAndGetProof";
+
+    private final int groupId;
+    private final List<NodeEndpoint> endpoints;
+    private final long maxLag;
+
+    RoutingEthereumService(int groupId, List<NodeEndpoint> endpoints, long maxLag) {
+        this.groupId = groupId;
+        this.endpoints = endpoints;
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType)
+        throws IOException {
+        return route(request, service -> service.send(request, responseType));
+    }
+
+    @Override
+    public void sendOnly(Request request) throws IOException {
+        route(request, service -> {
+            service.sendOnly(request);
+            return null;
+        });
+    }
+
+    @Override
+    public String sendSpecial(Request request) throws IOException {
+        return route(request, service -> service.sendSpecial(request));
+    }
+
+    int getGroupId() {
+        return groupId;
+    }
+
+    List<NodeEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * close probe web3j and channel service of each node,
+     * channel service of parent is not closed
+     */
+    @Override
+    public void close() {
+        for (NodeEndpoint endpoint : endpoints) {
+            try {
+                if (endpoint.getProbeWeb3j() instanceof JsonRpc2_0Web3j) {
+                    ((JsonRpc2_0Web3j) endpoint.getProbeWeb3j()).shutdown();
+                }
+                ChannelServices.close(endpoint.getEthereumService().getChannelService());
+            } catch (RuntimeException e) {
+                log.warn("close channel service of node fail. groupId:{} node:{}", groupId,
+                    endpoint.getAddress(), e);
+            }
+        }
+    }
+
+    private <T> T route(Request request, NodeCall<T> call) throws IOException {
+        boolean write = isWrite(request);
+        NodeEndpoint endpoint = choose(write, null);
+        try {
+            return callOn(endpoint, write, call);
+        } catch (IOException e) {
+            NodeEndpoint backup = choose(write, endpoint);
+            if (backup == null) {
+                throw e;
+            }
+            log.warn("node {} of group {} failed, retry {} on {}. error:{}",
+                endpoint.getAddress(), groupId, request.getMethod(), backup.getAddress(),
+                e.getMessage());
+            return callOn(backup, write, call);
+        }
+    }
+
+    /**
+     * latency of transaction is not recorded, its receipt comes by callback
+     */
+    private <T> T callOn(NodeEndpoint endpoint, boolean write, NodeCall<T> call)
+        throws IOException {
+        endpoint.onStart();
+        long start = System.currentTimeMillis();
+        try {
+            T result = call.call(endpoint.getEthereumService());
+            if (!write) {
+                endpoint.onSuccess(System.currentTimeMillis() - start);
+            }
+            return result;
+        } catch (IOException e) {
+            endpoint.onFailure(System.currentTimeMillis());
+            throw e;
+        } finally {
+            endpoint.onEnd();
+        }
+    }
+
+    /**
+     * @param exclude node already requested
+     * @return null if no other node when exclude is set
+     */
+    NodeEndpoint choose(boolean write, NodeEndpoint exclude) {
+        long now = System.currentTimeMillis();
+        long minBlockNumber = maxLag > 0 ? maxBlockNumber() - maxLag : Long.MIN_VALUE;
+        NodeEndpoint best = null;
+        NodeEndpoint lagging = null;
+        for (NodeEndpoint endpoint : endpoints) {
+            if (endpoint == exclude || !endpoint.isAvailable(now)) {
+                continue;
+            }
+            long blockNumber = endpoint.getBlockNumber();
+            if (blockNumber != BlockHeightTracker.UNKNOWN_HEIGHT && blockNumber < minBlockNumber) {
+                if (lagging == null) {
+                    lagging = endpoint;
+                }
+                continue;
+            }
+            if (write) {
+                return endpoint;
+            }
+            if (best == null || endpoint.score() < best.score()) {
+                best = endpoint;
+            }
+        }
+        if (best != null) {
+            return best;
+        }
+        if (lagging != null) {
+            return lagging;
+        }
+        // all nodes open, still try the first one
+        return exclude == null ? endpoints.get(0) : null;
+    }
+
+    private long maxBlockNumber() {
+        long max = BlockHeightTracker.UNKNOWN_HEIGHT;
+        for (NodeEndpoint endpoint : endpoints) {
+            max = Math.max(max, endpoint.getBlockNumber());
+        }
+        return max;
+    }
+
+    private static boolean isWrite(Request request) {
+        return METHOD_SEND_RAW_TRANSACTION.equals(request.getMethod())
+            || METHOD_SEND_RAW_TRANSACTION_AND_GET_PROOF.equals(request.getMethod());
+    }
+
+    @FunctionalInterface
+    private interface NodeCall<T> {
+        T call(ChannelEthereumService service) throws IOException;
+    }
+}
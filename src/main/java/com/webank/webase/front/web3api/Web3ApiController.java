@@ -15,7 +15,9 @@ package com.webank.webase.front.web3api;
 
 import com.webank.webase.front.base.code.ConstantCode;
 import com.webank.webase.front.base.exception.FrontException;
+import com.webank.webase.front.base.response.BasePageResponse;
 import com.webank.webase.front.base.response.BaseResponse;
+import com.webank.webase.front.txindex.TxIndexService;
 import com.webank.webase.front.util.Address;
 import com.webank.webase.front.web3api.entity.GenerateGroupInfo;
 import com.webank.webase.front.web3api.entity.NodeStatusInfo;
@@ -35,6 +37,7 @@ import org.fisco.bcos.web3j.protocol.core.methods.response.TotalTransactionCount
 import org.fisco.bcos.web3j.protocol.core.methods.response.Transaction;
 import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -42,6 +45,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 /**
  * Web3ApiController.
@@ -55,6 +59,10 @@ public class Web3ApiController {
 
     @Autowired
     Web3ApiService web3ApiService;
+    @Autowired
+    BlockStreamService blockStreamService;
+    @Autowired
+    TxIndexService txIndexService;
 
     @ApiOperation(value = "getBlockNumber", notes = "Get the latest block height of the node")
     @GetMapping("/blockNumber")
@@ -71,6 +79,63 @@ public class Web3ApiController {
         return web3ApiService.getBlockByNumber(groupId, blockNumber);
     }
 
+    @ApiOperation(value = "getBlocks", notes = "Stream blocks of range [from, to] as ndjson in order of block number")
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = "from", value = "first block number", required = true, dataType = "BigInteger"),
+        @ApiImplicitParam(name = "to", value = "last block number", required = true, dataType = "BigInteger"),
+        @ApiImplicitParam(name = "withTxs", value = "return full transactions", dataType = "Boolean"),
+        @ApiImplicitParam(name = "headersOnly", value = "return block headers with sealers", dataType = "Boolean")})
+    @GetMapping("/blocks")
+    public ResponseEntity<ResponseBodyEmitter> getBlocks(@PathVariable int groupId,
+        @RequestParam BigInteger from, @RequestParam BigInteger to,
+        @RequestParam(required = false, defaultValue = "false") boolean withTxs,
+        @RequestParam(required = false, defaultValue = "false") boolean headersOnly) {
+        ResponseBodyEmitter emitter =
+            blockStreamService.streamBlocks(groupId, from, to, withTxs, headersOnly);
+        return ResponseEntity.ok().contentType(BlockStreamService.APPLICATION_NDJSON).body(emitter);
+    }
+
+    @ApiOperation(value = "getTxsByAddress",
+        notes = "Get indexed transactions from or to address by page, latest first")
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = "address", value = "address", required = true, dataType = "String"),
+        @ApiImplicitParam(name = "pageNumber", value = "page number from 1", dataType = "int"),
+        @ApiImplicitParam(name = "pageSize", value = "page size", dataType = "int")})
+    @GetMapping("/txsByAddress")
+    public BasePageResponse getTxsByAddress(@PathVariable int groupId,
+        @RequestParam String address,
+        @RequestParam(required = false, defaultValue = "1") int pageNumber,
+        @RequestParam(required = false, defaultValue = "10") int pageSize) {
+        return txIndexService.getTxsByAddress(groupId, address, pageNumber, pageSize);
+    }
+
+    @ApiOperation(value = "getTxsByContract",
+        notes = "Get indexed transactions to contract by page, latest first")
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = "contractAddress", value = "contract address", required = true, dataType = "String"),
+        @ApiImplicitParam(name = "methodId", value = "method id such as 0xa9059cbb", dataType = "String"),
+        @ApiImplicitParam(name = "pageNumber", value = "page number from 1", dataType = "int"),
+        @ApiImplicitParam(name = "pageSize", value = "page size", dataType = "int")})
+    @GetMapping("/txsByContract")
+    public BasePageResponse getTxsByContract(@PathVariable int groupId,
+        @RequestParam String contractAddress,
+        @RequestParam(required = false) String methodId,
+        @RequestParam(required = false, defaultValue = "1") int pageNumber,
+        @RequestParam(required = false, defaultValue = "10") int pageSize) {
+        return txIndexService.getTxsByContract(groupId, contractAddress, methodId, pageNumber,
+            pageSize);
+    }
+
+    @ApiOperation(value = "getTxHashesByBlock",
+        notes = "Get hashes of indexed transactions in block, in order of transaction index")
+    @ApiImplicitParam(name = "blockNumber", value = "blockNumber", required = true,
+        dataType = "long", paramType = "path")
+    @GetMapping("/txHashesByBlock/{blockNumber}")
+    public List<String> getTxHashesByBlock(@PathVariable int groupId,
+        @PathVariable long blockNumber) {
+        return txIndexService.getTxHashesByBlock(groupId, blockNumber);
+    }
+
     @ApiOperation(value = "getBlockByHash", notes = "Get block information based on block hash")
     @ApiImplicitParam(name = "blockHash", value = "blockHash", required = true, dataType = "String",
             paramType = "path")
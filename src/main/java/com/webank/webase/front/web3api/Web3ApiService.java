@@ -13,6 +13,7 @@
  */
 package com.webank.webase.front.web3api;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.webank.webase.front.base.code.ConstantCode;
 import com.webank.webase.front.base.config.NodeConfig;
 import com.webank.webase.front.base.config.Web3Config;
@@ -21,12 +22,17 @@ import com.webank.webase.front.base.exception.FrontException;
 import com.webank.webase.front.base.properties.Constants;
 import com.webank.webase.front.base.response.BaseResponse;
 import com.webank.webase.front.event.callback.NewBlockEventCallback;
+import com.webank.webase.front.metrics.TransMetrics;
+import com.webank.webase.front.precompiledapi.PrecompiledClientPool;
+import com.webank.webase.front.txindex.TxIndexService;
+import com.webank.webase.front.util.Address;
 import com.webank.webase.front.util.CommonUtils;
+import com.webank.webase.front.util.FutureUtils;
 import com.webank.webase.front.util.JsonUtils;
+import com.webank.webase.front.util.SingleFlight;
 import com.webank.webase.front.web3api.entity.GenerateGroupInfo;
 import com.webank.webase.front.web3api.entity.GroupOperateStatus;
 import com.webank.webase.front.web3api.entity.NodeStatusInfo;
-import com.webank.webase.front.web3api.entity.PeerOfConsensusStatus;
 import com.webank.webase.front.web3api.entity.PeerOfSyncStatus;
 import com.webank.webase.front.web3api.entity.SyncStatus;
 import java.io.IOException;
@@ -34,6 +40,10 @@ import java.math.BigInteger;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.fisco.bcos.channel.handler.ChannelConnections;
@@ -41,16 +51,21 @@ import org.fisco.bcos.channel.handler.GroupChannelConnectionsConfig;
 import org.fisco.bcos.web3j.protocol.Web3j;
 import org.fisco.bcos.web3j.protocol.channel.ChannelEthereumService;
 import org.fisco.bcos.web3j.protocol.core.DefaultBlockParameter;
+import org.fisco.bcos.web3j.protocol.core.JsonRpc2_0Web3j;
+import org.fisco.bcos.web3j.protocol.core.Request;
 import org.fisco.bcos.web3j.protocol.core.methods.response.BcosBlock;
 import org.fisco.bcos.web3j.protocol.core.methods.response.BcosBlockHeader;
 import org.fisco.bcos.web3j.protocol.core.methods.response.GroupPeers;
 import org.fisco.bcos.web3j.protocol.core.methods.response.NodeVersion.Version;
+import org.fisco.bcos.web3j.protocol.core.methods.response.ObserverList;
 import org.fisco.bcos.web3j.protocol.core.methods.response.Peers;
 import org.fisco.bcos.web3j.protocol.core.methods.response.TotalTransactionCount;
 import org.fisco.bcos.web3j.protocol.core.methods.response.Transaction;
 import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
@@ -79,8 +94,29 @@ public class Web3ApiService {
     Map<Integer, org.fisco.bcos.channel.client.Service> serviceMap;
     @Autowired
     NewBlockEventCallback newBlockEventCallback;
+    @Autowired
+    Web3Cache web3Cache;
+    @Autowired
+    BlockHeightTracker blockHeightTracker;
+    @Autowired
+    NodeRouter nodeRouter;
+    @Autowired
+    GroupTopology groupTopology;
+    @Autowired
+    TxIndexService txIndexService;
+    @Autowired
+    TransMetrics transMetrics;
+    @Autowired
+    PrecompiledClientPool precompiledClientPool;
+
+    @Autowired
+    @Qualifier(value = "nodeQueryExecutor")
+    ExecutorService nodeQueryExecutor;
 
-    private static Map<Integer, List<NodeStatusInfo>> nodeStatusMap = new HashMap<>();
+    private final Map<Integer, NodeStatusSnapshot> nodeStatusMap = new ConcurrentHashMap<>();
+    private final Map<Integer, QueryWeb3j> queryWeb3jMap = new ConcurrentHashMap<>();
+    private final Map<Integer, Object> nodeStatusLocks = new ConcurrentHashMap<>();
+    private final SingleFlight<List<Object>, Object> singleFlight = new SingleFlight<>();
     private static final Long CHECK_NODE_WAIT_MIN_MILLIS = 5000L;
     private static final int HASH_OF_TRANSACTION_LENGTH = 66;
 
@@ -88,15 +124,7 @@ public class Web3ApiService {
      * getBlockNumber.
      */
     public BigInteger getBlockNumber(int groupId) {
-
-        BigInteger blockNumber;
-        try {
-            blockNumber = getWeb3j(groupId).getBlockNumber().send().getBlockNumber();
-        } catch (IOException e) {
-            log.error("getBlockNumber fail.", e);
-            throw new FrontException(ConstantCode.NODE_REQUEST_FAILED);
-        }
-        return blockNumber;
+        return blockHeightTracker.getBlockNumber(groupId, getWeb3j(groupId));
     }
 
     /**
@@ -105,21 +133,29 @@ public class Web3ApiService {
      * @param blockNumber blockNumber
      */
     public BcosBlock.Block getBlockByNumber(int groupId, BigInteger blockNumber) {
+        // cached block is committed already
+        BcosBlock.Block block = web3Cache.getBlockByNumber(groupId, blockNumber);
+        if (block != null) {
+            return block;
+        }
         if (blockNumberCheck(groupId, blockNumber)) {
             throw new FrontException(ConstantCode.BLOCK_NUMBER_ERROR);
         }
-        BcosBlock.Block block;
-        try {
-            block = getWeb3j(groupId)
-                    .getBlockByNumber(DefaultBlockParameter.valueOf(blockNumber), true)
-                    .send()
-                    .getBlock();
-        } catch (IOException e) {
-            log.info("get blocknumber failed" + e.getMessage());
-            log.error("getBlAockByNumber fail. blockNumber:{} , groupID: {}", blockNumber, groupId);
-            throw new FrontException(ConstantCode.NODE_REQUEST_FAILED);
-        }
-        return block;
+        return singleFlight(groupId, "blockByNumber", () -> {
+            BcosBlock.Block result;
+            try {
+                result = getWeb3j(groupId)
+                        .getBlockByNumber(DefaultBlockParameter.valueOf(blockNumber), true)
+                        .send()
+                        .getBlock();
+            } catch (IOException e) {
+                log.info("get blocknumber failed" + e.getMessage());
+                log.error("getBlAockByNumber fail. blockNumber:{} , groupID: {}", blockNumber, groupId);
+                throw new FrontException(ConstantCode.NODE_REQUEST_FAILED);
+            }
+            web3Cache.putBlock(groupId, result);
+            return result;
+        }, blockNumber);
     }
 
     /**
@@ -128,7 +164,10 @@ public class Web3ApiService {
      * @param blockHash blockHash
      */
     public BcosBlock.Block getBlockByHash(int groupId, String blockHash) {
-        BcosBlock.Block block;
+        BcosBlock.Block block = web3Cache.getBlockByHash(groupId, blockHash);
+        if (block != null) {
+            return block;
+        }
         try {
 
             block = getWeb3j(groupId).getBlockByHash(blockHash, true)
@@ -138,6 +177,7 @@ public class Web3ApiService {
             log.error("getBlockByHash fail. blockHash:{} ", blockHash);
             throw new FrontException(ConstantCode.NODE_REQUEST_FAILED);
         }
+        web3Cache.putBlock(groupId, block);
         return block;
     }
 
@@ -168,15 +208,14 @@ public class Web3ApiService {
      * getPbftView.
      */
     public BigInteger getPbftView(int groupId) {
-
-        BigInteger result;
-        try {
-            result = getWeb3j(groupId).getPbftView().send().getPbftView();
-        } catch (IOException e) {
-            log.error("getPbftView fail.");
-            throw new FrontException(ConstantCode.NODE_REQUEST_FAILED);
-        }
-        return result;
+        return singleFlight(groupId, "pbftView", () -> {
+            try {
+                return getWeb3j(groupId).getPbftView().send().getPbftView();
+            } catch (IOException e) {
+                log.error("getPbftView fail.");
+                throw new FrontException(ConstantCode.NODE_REQUEST_FAILED);
+            }
+        });
     }
 
     /**
@@ -186,7 +225,10 @@ public class Web3ApiService {
      */
     public TransactionReceipt getTransactionReceipt(int groupId, String transHash) {
 
-        TransactionReceipt transactionReceipt = null;
+        TransactionReceipt transactionReceipt = web3Cache.getTransactionReceipt(groupId, transHash);
+        if (transactionReceipt != null) {
+            return transactionReceipt;
+        }
         try {
             Optional<TransactionReceipt> opt = getWeb3j(groupId)
                     .getTransactionReceipt(transHash).send().getTransactionReceipt();
@@ -197,6 +239,7 @@ public class Web3ApiService {
             log.error("getTransactionReceipt fail. transHash:{} ", transHash);
             throw new FrontException(ConstantCode.NODE_REQUEST_FAILED);
         }
+        web3Cache.putTransactionReceipt(groupId, transactionReceipt);
         return transactionReceipt;
     }
 
@@ -207,7 +250,10 @@ public class Web3ApiService {
      */
     public Transaction getTransactionByHash(int groupId, String transHash) {
 
-        Transaction transaction = null;
+        Transaction transaction = web3Cache.getTransactionByHash(groupId, transHash);
+        if (transaction != null) {
+            return transaction;
+        }
         try {
             Optional<Transaction> opt =
                     getWeb3j(groupId).getTransactionByHash(transHash).send().getTransaction();
@@ -218,6 +264,7 @@ public class Web3ApiService {
             log.error("getTransactionByHash fail. transHash:{} ", transHash);
             throw new FrontException(ConstantCode.NODE_REQUEST_FAILED);
         }
+        web3Cache.putTransaction(groupId, transaction);
         return transaction;
     }
 
@@ -281,7 +328,11 @@ public class Web3ApiService {
     public Transaction getTransByBlockHashAndIndex(int groupId, String blockHash,
                                                    BigInteger transactionIndex) {
 
-        Transaction transaction = null;
+        Transaction transaction =
+            web3Cache.getTransByBlockHashAndIndex(groupId, blockHash, transactionIndex);
+        if (transaction != null) {
+            return transaction;
+        }
         try {
             Optional<Transaction> opt = getWeb3j(groupId)
                     .getTransactionByBlockHashAndIndex(blockHash, transactionIndex).send()
@@ -293,6 +344,7 @@ public class Web3ApiService {
             log.error("getTransByBlockHashAndIndex fail.", e);
             throw new FrontException(ConstantCode.NODE_REQUEST_FAILED);
         }
+        web3Cache.putTransaction(groupId, transaction);
         return transaction;
     }
 
@@ -304,7 +356,11 @@ public class Web3ApiService {
      */
     public Transaction getTransByBlockNumberAndIndex(int groupId, BigInteger blockNumber,
                                                      BigInteger transactionIndex) {
-        Transaction transaction = null;
+        Transaction transaction =
+            web3Cache.getTransByBlockNumberAndIndex(groupId, blockNumber, transactionIndex);
+        if (transaction != null) {
+            return transaction;
+        }
         try {
             if (blockNumberCheck(groupId, blockNumber)) {
                 throw new FrontException("ConstantCode.NODE_REQUEST_FAILED");
@@ -321,122 +377,158 @@ public class Web3ApiService {
             log.error("getTransByBlockNumberAndIndex fail.", e);
             throw new FrontException(ConstantCode.NODE_REQUEST_FAILED);
         }
+        web3Cache.putTransaction(groupId, transaction);
         return transaction;
     }
 
+    /**
+     * whether blockNumber is higher than current block number,
+     * ask node again before rejecting in case block notify not arrived yet
+     */
     private boolean blockNumberCheck(int groupId, BigInteger blockNumber) {
-        BigInteger currentNumber = null;
-        try {
-            currentNumber = getWeb3j(groupId).getBlockNumber().send().getBlockNumber();
-        } catch (IOException e) {
-            log.error("blockNumberCheck error:{}", e.getMessage());
+        Web3j web3j = getWeb3j(groupId);
+        if (blockNumber.compareTo(blockHeightTracker.getBlockNumber(groupId, web3j)) <= 0) {
+            return false;
         }
-        log.info("**** currentNumber:{}", currentNumber);
-        return (blockNumber.compareTo(currentNumber) > 0);
-
+        BigInteger currentNumber = blockHeightTracker.refresh(groupId, web3j);
+        log.debug("blockNumberCheck blockNumber:{} currentNumber:{}", blockNumber, currentNumber);
+        return blockNumber.compareTo(currentNumber) > 0;
     }
 
 
     /**
      * nodeHeartBeat.
+     * return snapshot of group if refreshed in 2 intervals, which is refreshed in background
+     * after the group is requested once
      */
     public List<NodeStatusInfo> getNodeStatusList(int groupId) {
-        log.info("start getNodeStatusList. groupId:{}", groupId);
+        NodeStatusSnapshot snapshot = nodeStatusMap.get(groupId);
+        if (snapshot != null && System.currentTimeMillis() - snapshot.updateTime
+                < constants.getNodeStatusRefreshMs() * 2) {
+            return snapshot.statusList;
+        }
         try {
-            List<NodeStatusInfo> statusList = new ArrayList<>();
-            List<String> peerStrList = getGroupPeers(groupId);
-            List<String> observerList = getObserverList(groupId);
-            SyncStatus syncStatus = JsonUtils.toJavaObject(getSyncStatus(groupId), SyncStatus.class);
-            List<PeerOfConsensusStatus> consensusList = getPeerOfConsensusStatus(groupId);
-            if (Objects.isNull(peerStrList) || peerStrList.isEmpty() || consensusList == null) {
-                log.info("end getNodeStatusList. peerStrList is empty");
+            return refreshNodeStatus(groupId);
+        } catch (Exception e) {
+            log.error("nodeHeartBeat Exception.", e);
+            throw new FrontException(ConstantCode.NODE_REQUEST_FAILED);
+        }
+    }
+
+    /**
+     * refresh node status of requested groups
+     */
+    @Scheduled(fixedDelayString = "${constant.nodeStatusRefreshMs:5000}")
+    public void refreshNodeStatusList() {
+        nodeStatusMap.keySet().removeIf(groupId -> !web3jMap.containsKey(groupId));
+        for (Integer groupId : nodeStatusMap.keySet()) {
+            try {
+                refreshNodeStatus(groupId);
+            } catch (Exception e) {
+                log.warn("refreshNodeStatusList fail. groupId:{} error:{}", groupId,
+                    e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * fetch peers, observers, sync status and consensus status of group at the same time
+     */
+    private List<NodeStatusInfo> refreshNodeStatus(int groupId) {
+        synchronized (nodeStatusLocks.computeIfAbsent(groupId, k -> new Object())) {
+            log.debug("start refreshNodeStatus. groupId:{}", groupId);
+            Web3j web3j = getQueryWeb3j(groupId);
+            CompletableFuture<GroupPeers> peersFuture = web3j.getGroupPeers().sendAsync();
+            CompletableFuture<ObserverList> observerFuture = web3j.getObserverList().sendAsync();
+            CompletableFuture<String> syncStatusFuture = CompletableFuture.supplyAsync(
+                () -> sendForString(web3j.getSyncStatus()), nodeQueryExecutor);
+            CompletableFuture<String> consensusFuture = CompletableFuture.supplyAsync(
+                () -> sendForString(web3j.getConsensusStatus()), nodeQueryExecutor);
+
+            // node not responding in time fails this refresh, last snapshot is kept
+            long deadline = System.currentTimeMillis() + constants.getGroupQueryTimeoutMs();
+            List<String> peerStrList = getBefore(peersFuture, deadline, groupId, "groupPeers")
+                .getGroupPeers();
+            List<String> observerList =
+                getBefore(observerFuture, deadline, groupId, "observerList").getObserverList();
+            SyncStatus syncStatus = JsonUtils.toJavaObject(
+                getBefore(syncStatusFuture, deadline, groupId, "syncStatus"), SyncStatus.class);
+            Map<String, BigInteger> viewMap = getViewOfConsensusStatus(
+                getBefore(consensusFuture, deadline, groupId, "consensusStatus"));
+            if (Objects.isNull(peerStrList) || peerStrList.isEmpty()) {
+                log.info("end refreshNodeStatus. peerStrList is empty");
                 return Collections.emptyList();
             }
+            BigInteger latestNumber = observerList == null || observerList.isEmpty()
+                ? null : blockHeightTracker.getBlockNumber(groupId, web3j);
+            NodeStatusSnapshot lastSnapshot = nodeStatusMap.get(groupId);
+            List<NodeStatusInfo> statusList = new ArrayList<>(peerStrList.size());
             for (String peer : peerStrList) {
-                int nodeType = 0; // 0-consensus;1-observer
-                if (observerList != null) {
-                    nodeType = observerList.stream().filter(observer -> peer.equals(observer))
-                            .map(c -> 1).findFirst().orElse(0);
-                }
+                // 0-consensus;1-observer
+                int nodeType = observerList != null && observerList.contains(peer) ? 1 : 0;
                 BigInteger blockNumberOnChain = getBlockNumberOfNodeOnChain(syncStatus, peer);
-                BigInteger latestView =
-                        consensusList.stream().filter(cl -> peer.equals(cl.getNodeId()))
-                                .map(c -> c.getView()).findFirst().orElse(BigInteger.ZERO);// pbftView
+                BigInteger latestView = viewMap.getOrDefault(peer, BigInteger.ZERO);// pbftView
+                NodeStatusInfo localNodeStatus = lastSnapshot == null ? null
+                    : lastSnapshot.statusList.stream().filter(s -> peer.equals(s.getNodeId()))
+                        .findFirst().orElse(null);
                 // check node status
-                statusList.add(
-                        checkNodeStatus(groupId, peer, blockNumberOnChain, latestView, nodeType));
+                statusList.add(checkNodeStatus(localNodeStatus, peer, blockNumberOnChain,
+                    latestView, nodeType, latestNumber));
             }
 
-            nodeStatusMap.put(groupId, statusList);
-            log.info("end getNodeStatusList. groupId:{} statusList:{}", groupId,
+            List<NodeStatusInfo> result = Collections.unmodifiableList(statusList);
+            nodeStatusMap.put(groupId, new NodeStatusSnapshot(result));
+            log.debug("end refreshNodeStatus. groupId:{} statusList:{}", groupId,
                     JsonUtils.toJSONString(statusList));
-            return statusList;
-        } catch (Exception e) {
-            log.error("nodeHeartBeat Exception.", e);
-            throw new FrontException(ConstantCode.NODE_REQUEST_FAILED);
+            return result;
         }
     }
 
     /**
-     * check node status.
+     * result of node status query, or fail if not done before deadline
      */
-    private NodeStatusInfo checkNodeStatus(int groupId, String nodeId, BigInteger chainBlockNumber,
-                                           BigInteger chainView, int nodeType) {
-        log.info("start checkNodeStatus. groupId:{} nodeId:{} blockNumber:{} chainView:{}", groupId,
-                nodeId, chainBlockNumber, chainView);
+    private static <T> T getBefore(CompletableFuture<T> future, long deadline, int groupId,
+            String name) {
+        return FutureUtils.getBefore(future, deadline, name + " of group " + groupId)
+            .orElseThrow(() -> new FrontException(ConstantCode.NODE_REQUEST_FAILED));
+    }
 
-        if (Objects.isNull(nodeStatusMap.get(groupId))) {
-            log.info("end checkNodeStatus. no cache group:{}", groupId);
+    /**
+     * check node status by its last status, status in snapshot is not modified.
+     * consensus node is invalid if neither block number nor view changed,
+     * observer is invalid if block number is behind latest
+     */
+    private NodeStatusInfo checkNodeStatus(NodeStatusInfo localNodeStatus, String nodeId,
+            BigInteger chainBlockNumber, BigInteger chainView, int nodeType,
+            BigInteger latestNumber) {
+        if (Objects.isNull(localNodeStatus)) {
+            log.debug("end checkNodeStatus. no cache node:{}", nodeId);
             return new NodeStatusInfo(nodeId, chainBlockNumber, chainView,
                     DataStatus.NORMAL.getValue(), LocalDateTime.now());
-        } else {
-            List<NodeStatusInfo> statusList = nodeStatusMap.get(groupId);
-            NodeStatusInfo localNodeStatus = statusList.stream()
-                    .filter(s -> nodeId.equals(s.getNodeId())).findFirst().orElse(null);
-            if (Objects.isNull(localNodeStatus)) {
-                log.info("end checkNodeStatus. no cache node:{}", nodeId);
-                return new NodeStatusInfo(nodeId, chainBlockNumber, chainView,
-                        DataStatus.NORMAL.getValue(), LocalDateTime.now());
-            }
-
-            LocalDateTime latestUpdate = localNodeStatus.getLatestStatusUpdateTime();
-            Long subTime = Duration.between(latestUpdate, LocalDateTime.now()).toMillis();
-            if (subTime < CHECK_NODE_WAIT_MIN_MILLIS) {
-                log.info("checkNodeStatus jump over. nodeId:{} subTime:{}", nodeId, subTime);
-                return localNodeStatus;
-            }
+        }
 
-            BigInteger localBlockNumber = localNodeStatus.getBlockNumber();
-            BigInteger localPbftView = localNodeStatus.getPbftView();
-            // 0-consensus;1-observer
-            if (nodeType == 0) {
-                if (localBlockNumber.equals(chainBlockNumber) && localPbftView.equals(chainView)) {
-                    log.warn(
-                            "node[{}] is invalid. localNumber:{} chainNumber:{} localView:{} chainView:{}",
-                            nodeId, localBlockNumber, chainBlockNumber, localPbftView, chainView);
-                    localNodeStatus.setStatus(DataStatus.INVALID.getValue());
-                } else {
-                    localNodeStatus.setBlockNumber(chainBlockNumber);
-                    localNodeStatus.setPbftView(chainView);
-                    localNodeStatus.setStatus(DataStatus.NORMAL.getValue());
-                }
-            } else {
-                if (!chainBlockNumber.equals(getBlockNumber(groupId))) {
-                    log.warn(
-                            "node[{}] is invalid. localNumber:{} chainNumber:{} localView:{} chainView:{}",
-                            nodeId, localBlockNumber, chainBlockNumber, localPbftView, chainView);
-                    localNodeStatus.setStatus(DataStatus.INVALID.getValue());
-                } else {
-                    localNodeStatus.setBlockNumber(chainBlockNumber);
-                    localNodeStatus.setPbftView(chainView);
-                    localNodeStatus.setStatus(DataStatus.NORMAL.getValue());
-                }
-            }
-            localNodeStatus.setLatestStatusUpdateTime(LocalDateTime.now());
+        LocalDateTime latestUpdate = localNodeStatus.getLatestStatusUpdateTime();
+        Long subTime = Duration.between(latestUpdate, LocalDateTime.now()).toMillis();
+        if (subTime < CHECK_NODE_WAIT_MIN_MILLIS) {
+            log.debug("checkNodeStatus jump over. nodeId:{} subTime:{}", nodeId, subTime);
             return localNodeStatus;
         }
-    }
 
+        BigInteger localBlockNumber = localNodeStatus.getBlockNumber();
+        BigInteger localPbftView = localNodeStatus.getPbftView();
+        boolean invalid = nodeType == 0
+            ? localBlockNumber.equals(chainBlockNumber) && localPbftView.equals(chainView)
+            : !chainBlockNumber.equals(latestNumber);
+        if (invalid) {
+            log.warn(
+                    "node[{}] is invalid. localNumber:{} chainNumber:{} localView:{} chainView:{}",
+                    nodeId, localBlockNumber, chainBlockNumber, localPbftView, chainView);
+            return new NodeStatusInfo(nodeId, localBlockNumber, localPbftView,
+                DataStatus.INVALID.getValue(), LocalDateTime.now());
+        }
+        return new NodeStatusInfo(nodeId, chainBlockNumber, chainView,
+            DataStatus.NORMAL.getValue(), LocalDateTime.now());
+    }
 
     /**
      * get latest number of peer on chain.
@@ -462,31 +554,34 @@ public class Web3ApiService {
 
 
     /**
-     * get peer of consensusStatus
+     * get view of each node from consensusStatus,
+     * which is an array of basic info object and arrays of {nodeId, view}
      */
-    private List<PeerOfConsensusStatus> getPeerOfConsensusStatus(int groupId) {
-        String consensusStatusJson = getConsensusStatus(groupId);
+    private static Map<String, BigInteger> getViewOfConsensusStatus(String consensusStatusJson) {
+        Map<String, BigInteger> viewMap = new HashMap<>();
         if (StringUtils.isBlank(consensusStatusJson)) {
-            return Collections.emptyList();
+            return viewMap;
         }
-        List jsonArr = JsonUtils.toJavaObject(consensusStatusJson, List.class);
-        if (jsonArr == null) {
-            log.error("getPeerOfConsensusStatus error");
+        JsonNode jsonArr = JsonUtils.stringToJsonNode(consensusStatusJson);
+        if (jsonArr == null || !jsonArr.isArray()) {
+            log.error("getViewOfConsensusStatus error");
             throw new FrontException(ConstantCode.FAIL_PARSE_JSON);
         }
-        List<PeerOfConsensusStatus> dataIsList = new ArrayList<>();
-        for (int i = 0; i < jsonArr.size(); i++ ) {
-            if (jsonArr.get(i) instanceof List) {
-                List<PeerOfConsensusStatus> tempList = JsonUtils.toJavaObjectList(
-                    JsonUtils.toJSONString(jsonArr.get(i)), PeerOfConsensusStatus.class);
-                if (tempList != null) {
-                    dataIsList.addAll(tempList);
-                } else {
+        for (JsonNode element : jsonArr) {
+            if (!element.isArray()) {
+                continue;
+            }
+            for (JsonNode peer : element) {
+                JsonNode nodeId = peer.get("nodeId");
+                JsonNode view = peer.get("view");
+                if (nodeId == null || view == null) {
                     throw new FrontException(ConstantCode.FAIL_PARSE_JSON);
                 }
+                viewMap.put(nodeId.asText(),
+                    view.isNumber() ? view.bigIntegerValue() : new BigInteger(view.asText()));
             }
         }
-        return dataIsList;
+        return viewMap;
     }
 
 
@@ -512,6 +607,7 @@ public class Web3ApiService {
             List<String> groupIdList = getWeb3j().getGroupList().send().getGroupList();
             // check web3jMap, if not match groupIdList, refresh web3jMap in front
             refreshWeb3jMap(groupIdList);
+            groupTopology.update(groupIdList);
             return groupIdList;
         } catch (IOException e) {
             log.error("getGroupList error:[]", e);
@@ -553,8 +649,21 @@ public class Web3ApiService {
             // not contains in groupList from chain
             .filter(groupId ->
                 !groupIdList.contains(String.valueOf(groupId)))
-            .forEach(group2Remove ->
-                web3jMap.remove(group2Remove));
+            .forEach(this::releaseGroup);
+    }
+
+    /**
+     * remove web3j of group and what is kept for the group
+     */
+    private void releaseGroup(int groupId) {
+        web3jMap.remove(groupId);
+        nodeRouter.remove(groupId);
+        transMetrics.remove(groupId);
+        precompiledClientPool.remove(groupId);
+        QueryWeb3j queryWeb3j = queryWeb3jMap.remove(groupId);
+        if (queryWeb3j != null) {
+            queryWeb3j.web3j.shutdown();
+        }
     }
 
     /**
@@ -563,11 +672,15 @@ public class Web3ApiService {
      * @return
      */
     private synchronized Web3j initWeb3j(int groupId) {
+        // already init by another refresh
+        if (web3jMap.containsKey(groupId)) {
+            return web3jMap.get(groupId);
+        }
         log.info("initWeb3j of groupId:{}", groupId);
         List<ChannelConnections> channelConnectionsList =
                 groupChannelConnectionsConfig.getAllChannelConnections();
         ChannelConnections channelConnections = new ChannelConnections();
-        channelConnections.setConnectionsStr(channelConnectionsList.get(0).getConnectionsStr());
+        channelConnections.setConnectionsStr(new ArrayList<>(web3Config.getNodeList(groupId)));
         channelConnections.setGroupId(groupId);
         channelConnectionsList.add(channelConnections);
         org.fisco.bcos.channel.client.Service service = new org.fisco.bcos.channel.client.Service();
@@ -584,9 +697,8 @@ public class Web3ApiService {
             log.error("initWeb3j fail. groupId:{} error:[]", groupId, e);
             throw new FrontException("refresh web3j failed");
         }
-        ChannelEthereumService channelEthereumService = new ChannelEthereumService();
-        channelEthereumService.setTimeout(web3Config.getTimeout());
-        channelEthereumService.setChannelService(service);
+        // routed to nodes of group same as web3jMap bean
+        ChannelEthereumService channelEthereumService = nodeRouter.newEthereumService(service);
         Web3j web3j = Web3j.build(channelEthereumService, service.getGroupId());
         web3jMap.put(groupId, web3j);
         return web3j;
@@ -605,23 +717,27 @@ public class Web3ApiService {
     }
 
     public String getConsensusStatus(int groupId) {
-        try {
-            return getWeb3j(groupId)
-                    .getConsensusStatus().sendForReturnString();
-        } catch (IOException e) {
-            log.error("getConsensusStatus error:[]", e);
-            throw new FrontException(e.getMessage());
-        }
+        return singleFlight(groupId, "consensusStatus", () -> {
+            try {
+                return getWeb3j(groupId)
+                        .getConsensusStatus().sendForReturnString();
+            } catch (IOException e) {
+                log.error("getConsensusStatus error:[]", e);
+                throw new FrontException(e.getMessage());
+            }
+        });
     }
 
     public String getSyncStatus(int groupId) {
-        try {
-            return getWeb3j(groupId)
-                    .getSyncStatus().sendForReturnString();
-        } catch (IOException e) {
-            log.error("getSyncStatus error:[]", e);
-            throw new FrontException(e.getMessage());
-        }
+        return singleFlight(groupId, "syncStatus", () -> {
+            try {
+                return getWeb3j(groupId)
+                        .getSyncStatus().sendForReturnString();
+            } catch (IOException e) {
+                log.error("getSyncStatus error:[]", e);
+                throw new FrontException(e.getMessage());
+            }
+        });
     }
 
     public String getSystemConfigByKey(int groupId, String key) {
@@ -654,12 +770,14 @@ public class Web3ApiService {
     }
 
     public BigInteger getPendingTransactionsSize(int groupId) {
-        try {
-            return getWeb3j(groupId).getPendingTxSize().send().getPendingTxSize();
-        } catch (IOException e) {
-            log.error("getPendingTransactionsSize error:[]", e);
-            throw new FrontException(e.getMessage());
-        }
+        return singleFlight(groupId, "pendingTxSize", () -> {
+            try {
+                return getWeb3j(groupId).getPendingTxSize().send().getPendingTxSize();
+            } catch (IOException e) {
+                log.error("getPendingTransactionsSize error:[]", e);
+                throw new FrontException(e.getMessage());
+            }
+        });
     }
 
     public List<String> getSealerList(int groupId) {
@@ -692,6 +810,9 @@ public class Web3ApiService {
             return getBlockByNumber(groupId, new BigInteger(input));
         } else if (input.length() == HASH_OF_TRANSACTION_LENGTH) {
             return getTransactionByHash(groupId, input);
+        } else if (input.length() == Address.ValidLen && txIndexService.isEnabled()) {
+            // latest transactions of address
+            return txIndexService.getTxsByAddress(groupId, input, 1, 10).getData();
         }
 
         return null;
@@ -754,6 +875,7 @@ public class Web3ApiService {
         log.info("startGroup. groupId:{} status:{}", groupId, status);
         if (CommonUtils.parseHexStr2Int(status.getCode()) == 0) {
             initWeb3j(groupId);
+            groupTopology.refreshAsync();
             return new BaseResponse(ConstantCode.RET_SUCCEED);
         } else {
             log.error("startGroup fail:{}", status.getMessage());
@@ -772,7 +894,8 @@ public class Web3ApiService {
         }
         log.info("stopGroup. groupId:{} status:{}", groupId, status);
         if (CommonUtils.parseHexStr2Int(status.getCode()) == 0) {
-            web3jMap.remove(groupId);
+            releaseGroup(groupId);
+            groupTopology.refreshAsync();
             return new BaseResponse(ConstantCode.RET_SUCCEED);
         } else {
             log.error("stopGroup fail:{}", status.getMessage());
@@ -791,6 +914,7 @@ public class Web3ApiService {
         }
         log.info("removeGroup. groupId:{} status:{}", groupId, status);
         if (CommonUtils.parseHexStr2Int(status.getCode()) == 0) {
+            groupTopology.refreshAsync();
             return new BaseResponse(ConstantCode.RET_SUCCEED);
         } else {
             log.error("removeGroup fail:{}", status.getMessage());
@@ -809,6 +933,7 @@ public class Web3ApiService {
         }
         log.info("recoverGroup. groupId:{} status:{}", groupId, status);
         if (CommonUtils.parseHexStr2Int(status.getCode()) == 0) {
+            groupTopology.refreshAsync();
             return new BaseResponse(ConstantCode.RET_SUCCEED);
         } else {
             log.error("recoverGroup fail:{}", status.getMessage());
@@ -858,19 +983,27 @@ public class Web3ApiService {
     }
 
     private BaseResponse querySingleGroupStatus(int groupId) {
+        BaseResponse response = new BaseResponse(ConstantCode.RET_SUCCEED);
+        response.setData(queryGroupStatus(groupId));
+        return response;
+    }
+
+    private String queryGroupStatus(int groupId) {
+        return queryGroupStatus(getWeb3j(), groupId);
+    }
+
+    private String queryGroupStatus(Web3j web3j, int groupId) {
         GroupOperateStatus status;
         try {
             status = CommonUtils.object2JavaBean(
-                getWeb3j().queryGroupStatus(groupId).send().getStatus(), GroupOperateStatus.class);
+                web3j.queryGroupStatus(groupId).send().getStatus(), GroupOperateStatus.class);
         } catch (IOException e) {
             log.error("querySingleGroupStatus fail:[]", e);
             throw new FrontException(ConstantCode.NODE_REQUEST_FAILED);
         }
         log.info("queryGroupStatus. groupId:{} status:{}", groupId, status);
         if (CommonUtils.parseHexStr2Int(status.getCode()) == 0) {
-            BaseResponse response = new BaseResponse(ConstantCode.RET_SUCCEED);
-            response.setData(status.getStatus());
-            return response;
+            return status.getStatus();
         } else {
             log.error("queryGroupStatus fail:{}", status.getMessage());
             throw classifyGroupOperateException(status);
@@ -878,16 +1011,25 @@ public class Web3ApiService {
     }
 
     /**
-     * Map of <groupId, status>
+     * Map of <groupId, status>, groups are queried concurrently in nodeQueryExecutor
+     * by query web3j, status of group failed or not returned in groupQueryTimeoutMs is "UNKNOWN"
      * @param groupIdList
-     * @return status: "INEXISTENT"、"STOPPING"、"RUNNING"、"STOPPED"、"DELETED"
-     * @throws IOException
+     * @return status: "INEXISTENT"、"STOPPING"、"RUNNING"、"STOPPED"、"DELETED"、"UNKNOWN"
      */
     public BaseResponse getGroupStatus(List<Integer> groupIdList) {
+        Set<Integer> localGroupIds = web3jMap.keySet();
+        Web3j web3j = localGroupIds.isEmpty() ? independentWeb3j
+            : getQueryWeb3j(localGroupIds.iterator().next());
+        Map<Integer, CompletableFuture<String>> futureMap = new LinkedHashMap<>();
+        for (Integer groupId : groupIdList) {
+            futureMap.put(groupId, CompletableFuture
+                .supplyAsync(() -> queryGroupStatus(web3j, groupId), nodeQueryExecutor));
+        }
+        long deadline = System.currentTimeMillis() + constants.getGroupQueryTimeoutMs();
         Map<Integer, String> groupIdStatusMap = new HashMap<>(groupIdList.size());
-        for (Integer groupId: groupIdList) {
-            BaseResponse res = querySingleGroupStatus(groupId);
-            groupIdStatusMap.put(groupId, (String)res.getData());
+        for (Map.Entry<Integer, CompletableFuture<String>> entry : futureMap.entrySet()) {
+            groupIdStatusMap.put(entry.getKey(), FutureUtils.getBefore(entry.getValue(), deadline,
+                "queryGroupStatus of group " + entry.getKey()).orElse(Constants.GROUP_STATUS_UNKNOWN));
         }
         return new BaseResponse(ConstantCode.RET_SUCCESS, groupIdStatusMap);
     }
@@ -909,27 +1051,80 @@ public class Web3ApiService {
         return web3jMap.get(index);
     }
 
+    /**
+     * web3j sharing channel service of group, whose requests time out in groupQueryTimeoutMs,
+     * for background queries which are skipped if node is slow
+     */
+    public Web3j getQueryWeb3j(int groupId) {
+        getWeb3j(groupId);
+        org.fisco.bcos.channel.client.Service service = serviceMap.get(groupId);
+        QueryWeb3j queryWeb3j = queryWeb3jMap.get(groupId);
+        if (queryWeb3j == null || queryWeb3j.service != service) {
+            queryWeb3j = queryWeb3jMap.compute(groupId, (k, old) -> {
+                if (old != null && old.service == service) {
+                    return old;
+                }
+                if (old != null) {
+                    old.web3j.shutdown();
+                }
+                ChannelEthereumService ethereumService = new ChannelEthereumService();
+                ethereumService.setChannelService(service);
+                ethereumService.setTimeout((int) constants.getGroupQueryTimeoutMs());
+                return new QueryWeb3j(service, new JsonRpc2_0Web3j(ethereumService, groupId));
+            });
+        }
+        return queryWeb3j.web3j;
+    }
+
+    private static String sendForString(Request<?, ?> request) {
+        try {
+            return request.sendForReturnString();
+        } catch (IOException e) {
+            throw new FrontException(e.getMessage());
+        }
+    }
+
+    /**
+     * merge the same request of group in flight into one request to node,
+     * result is also shared in singleFlightFreshMs of method if configured
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T singleFlight(int groupId, String method, Supplier<T> supplier,
+            Object... params) {
+        if (!constants.isSingleFlightEnabled()) {
+            return supplier.get();
+        }
+        List<Object> key = new ArrayList<>(params.length + 2);
+        key.add(groupId);
+        key.add(method);
+        Collections.addAll(key, params);
+        long freshMillis = constants.getSingleFlightFreshMs().getOrDefault(method, 0L);
+        return (T) singleFlight.execute(key, freshMillis, supplier::get);
+    }
+
     /**
      * get target group's web3j
      * @param groupId
      * @return
      */
     public Web3j getWeb3j(Integer groupId) {
+        Web3j web3j = web3jMap.get(groupId);
+        if (Objects.nonNull(web3j)) {
+            return web3j;
+        }
+        // group list is refreshed in background, not again for the same group in a while
+        boolean refreshing = groupTopology.onMiss(groupId);
         if (web3jMap.isEmpty()) {
-            // refresh group list
-            getGroupList();
-            log.error("web3jMap is empty, groupList empty! please check your node status");
+            if (refreshing) {
+                log.error("web3jMap is empty, groupList empty! please check your node status");
+            }
             throw new FrontException(ConstantCode.SYSTEM_ERROR_GROUP_LIST_EMPTY);
         }
-        Web3j web3j = web3jMap.get(groupId);
-        if (Objects.isNull(web3j)) {
+        if (refreshing) {
             log.error("web3j of {} is null, please call /{}/web3/refresh to refresh", groupId, groupId);
-            // refresh group list
-            getGroupList();
-            throw new FrontException(ConstantCode.SYSTEM_ERROR_WEB3J_NULL.getCode(),
-                    "web3j of " + groupId + " is null");
         }
-        return web3j;
+        throw new FrontException(ConstantCode.SYSTEM_ERROR_WEB3J_NULL.getCode(),
+                "web3j of " + groupId + " is null");
     }
 
     /* above v2.6.1*/
@@ -954,4 +1149,23 @@ public class Web3ApiService {
     }
     /* above v2.6.1*/
 
+
+    private static class QueryWeb3j {
+        private final org.fisco.bcos.channel.client.Service service;
+        private final JsonRpc2_0Web3j web3j;
+
+        QueryWeb3j(org.fisco.bcos.channel.client.Service service, JsonRpc2_0Web3j web3j) {
+            this.service = service;
+            this.web3j = web3j;
+        }
+    }
+
+    private static class NodeStatusSnapshot {
+        private final List<NodeStatusInfo> statusList;
+        private final long updateTime = System.currentTimeMillis();
+
+        NodeStatusSnapshot(List<NodeStatusInfo> statusList) {
+            this.statusList = statusList;
+        }
+    }
 }
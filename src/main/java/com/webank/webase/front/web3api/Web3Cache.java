@@ -0,0 +1,284 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.web3api;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.webank.webase.front.base.properties.Constants;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.fisco.bcos.web3j.protocol.core.methods.response.BcosBlock;
+import org.fisco.bcos.web3j.protocol.core.methods.response.BcosBlock.TransactionResult;
+import org.fisco.bcos.web3j.protocol.core.methods.response.Log;
+import org.fisco.bcos.web3j.protocol.core.methods.response.Transaction;
+import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * cache of committed blocks, transactions and receipts, which never change under pbft.
+ * block is indexed by number, its hash and hashes of its transactions point to the number;
+ * memory is bounded by estimated bytes of cached objects
+ */
+@Slf4j
+@Component
+public class Web3Cache {
+
+    /**
+     * estimated bytes of key and object besides strings
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+    private static final int OBJECT_OVERHEAD_BYTES = 512;
+
+    @Autowired
+    private Constants constants;
+
+    private Cache<Key, Object> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = CacheBuilder.newBuilder()
+            .maximumWeight(constants.getWeb3CacheMaxBytes())
+            .weigher((Key key, Object value) -> ENTRY_OVERHEAD_BYTES + weight(value))
+            .recordStats()
+            .build();
+        log.info("*****init web3Cache enabled:{} maxBytes:{}", constants.isWeb3CacheEnabled(),
+            constants.getWeb3CacheMaxBytes());
+    }
+
+    public boolean isEnabled() {
+        return constants.isWeb3CacheEnabled();
+    }
+
+    /**
+     * @return null if not cached
+     */
+    public BcosBlock.Block getBlockByNumber(int groupId, BigInteger blockNumber) {
+        if (!isEnabled()) {
+            return null;
+        }
+        return (BcosBlock.Block) cache.getIfPresent(new Key(groupId, Kind.BLOCK, blockNumber));
+    }
+
+    /**
+     * @return null if not cached
+     */
+    public BcosBlock.Block getBlockByHash(int groupId, String blockHash) {
+        BigInteger blockNumber = getIndex(groupId, Kind.BLOCK_HASH, blockHash);
+        return blockNumber == null ? null : getBlockByNumber(groupId, blockNumber);
+    }
+
+    /**
+     * @return null if not cached or index out of range
+     */
+    public Transaction getTransByBlockNumberAndIndex(int groupId, BigInteger blockNumber,
+            BigInteger transactionIndex) {
+        BcosBlock.Block block = getBlockByNumber(groupId, blockNumber);
+        return block == null ? null : getTransaction(block, transactionIndex);
+    }
+
+    /**
+     * @return null if not cached or index out of range
+     */
+    public Transaction getTransByBlockHashAndIndex(int groupId, String blockHash,
+            BigInteger transactionIndex) {
+        BcosBlock.Block block = getBlockByHash(groupId, blockHash);
+        return block == null ? null : getTransaction(block, transactionIndex);
+    }
+
+    /**
+     * transaction put alone, or found in cached block by its transactionIndex
+     *
+     * @return null if not cached
+     */
+    public Transaction getTransactionByHash(int groupId, String transHash) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Object value = cache.getIfPresent(new Key(groupId, Kind.TRANSACTION, transHash));
+        if (value instanceof Transaction) {
+            return (Transaction) value;
+        }
+        if (value instanceof TransLocation) {
+            TransLocation location = (TransLocation) value;
+            BcosBlock.Block block = getBlockByNumber(groupId, location.blockNumber);
+            return block == null ? null : getTransaction(block, location.index);
+        }
+        return null;
+    }
+
+    /**
+     * @return null if not cached
+     */
+    public TransactionReceipt getTransactionReceipt(int groupId, String transHash) {
+        if (!isEnabled()) {
+            return null;
+        }
+        return (TransactionReceipt) cache.getIfPresent(new Key(groupId, Kind.RECEIPT, transHash));
+    }
+
+    /**
+     * cache block got with full transactions, and index its hash and transactions' hash
+     */
+    public void putBlock(int groupId, BcosBlock.Block block) {
+        if (!isEnabled() || block == null || block.getNumberRaw() == null) {
+            return;
+        }
+        BigInteger blockNumber = block.getNumber();
+        cache.put(new Key(groupId, Kind.BLOCK, blockNumber), block);
+        if (block.getHash() != null) {
+            cache.put(new Key(groupId, Kind.BLOCK_HASH, block.getHash()), blockNumber);
+        }
+        List<TransactionResult> transactions = block.getTransactions();
+        if (transactions == null) {
+            return;
+        }
+        for (int i = 0; i < transactions.size(); i++) {
+            if (transactions.get(i) instanceof Transaction) {
+                Transaction transaction = (Transaction) transactions.get(i);
+                cache.put(new Key(groupId, Kind.TRANSACTION, transaction.getHash()),
+                    new TransLocation(blockNumber, BigInteger.valueOf(i)));
+            }
+        }
+    }
+
+    /**
+     * cache transaction already in block
+     */
+    public void putTransaction(int groupId, Transaction transaction) {
+        if (!isEnabled() || transaction == null || transaction.getHash() == null
+                || transaction.getBlockHash() == null || transaction.getBlockNumberRaw() == null) {
+            return;
+        }
+        cache.put(new Key(groupId, Kind.TRANSACTION, transaction.getHash()), transaction);
+    }
+
+    public void putTransactionReceipt(int groupId, TransactionReceipt receipt) {
+        if (!isEnabled() || receipt == null || receipt.getTransactionHash() == null
+                || receipt.getBlockNumberRaw() == null) {
+            return;
+        }
+        cache.put(new Key(groupId, Kind.RECEIPT, receipt.getTransactionHash()), receipt);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    private BigInteger getIndex(int groupId, Kind kind, String hash) {
+        if (!isEnabled()) {
+            return null;
+        }
+        return (BigInteger) cache.getIfPresent(new Key(groupId, kind, hash));
+    }
+
+    private static Transaction getTransaction(BcosBlock.Block block, BigInteger index) {
+        List<TransactionResult> transactions = block.getTransactions();
+        if (transactions == null || index.signum() < 0
+                || index.compareTo(BigInteger.valueOf(transactions.size())) >= 0) {
+            return null;
+        }
+        TransactionResult result = transactions.get(index.intValue());
+        return result instanceof Transaction ? (Transaction) result : null;
+    }
+
+    private static int weight(Object value) {
+        if (value instanceof BcosBlock.Block) {
+            BcosBlock.Block block = (BcosBlock.Block) value;
+            int weight = OBJECT_OVERHEAD_BYTES + length(block.getLogsBloom());
+            if (block.getTransactions() != null) {
+                for (TransactionResult transaction : block.getTransactions()) {
+                    weight += transaction instanceof Transaction
+                        ? weight(transaction) : OBJECT_OVERHEAD_BYTES;
+                }
+            }
+            return weight;
+        }
+        if (value instanceof Transaction) {
+            Transaction transaction = (Transaction) value;
+            return OBJECT_OVERHEAD_BYTES + length(transaction.getInput())
+                + length(transaction.getRaw());
+        }
+        if (value instanceof TransactionReceipt) {
+            TransactionReceipt receipt = (TransactionReceipt) value;
+            int weight = OBJECT_OVERHEAD_BYTES + length(receipt.getInput())
+                + length(receipt.getOutput()) + length(receipt.getLogsBloom());
+            if (receipt.getLogs() != null) {
+                for (Log log : receipt.getLogs()) {
+                    weight += OBJECT_OVERHEAD_BYTES + length(log.getData());
+                }
+            }
+            return weight;
+        }
+        return 0;
+    }
+
+    private static int length(String str) {
+        // 2 bytes per char
+        return str == null ? 0 : str.length() * 2;
+    }
+
+    private enum Kind {
+        BLOCK, BLOCK_HASH, TRANSACTION, RECEIPT
+    }
+
+    private static final class Key {
+        private final int groupId;
+        private final Kind kind;
+        private final Object id;
+
+        Key(int groupId, Kind kind, Object id) {
+            this.groupId = groupId;
+            this.kind = kind;
+            this.id = id instanceof String ? ((String) id).toLowerCase() : id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return groupId == that.groupId && kind == that.kind && Objects.equals(id, that.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(groupId, kind, id);
+        }
+    }
+
+    private static final class TransLocation {
+        private final BigInteger blockNumber;
+        private final BigInteger index;
+
+        TransLocation(BigInteger blockNumber, BigInteger index) {
+            this.blockNumber = blockNumber;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.export;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class SegmentWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testIndexOffset() throws IOException {
+        Path dir = folder.getRoot().toPath();
+        try (SegmentWriter writer = new SegmentWriter(dir, 10, 1024)) {
+            writer.write(10, "{\"n\":10}");
+            writer.write(11, "{\"n\":11}");
+        }
+        byte[] data = Files.readAllBytes(dir.resolve("segment-000000.ndjson.gz"));
+        List<String> index = Files.readAllLines(dir.resolve("segment-000000.idx"));
+        assertEquals(2, index.size());
+        String[] second = index.get(1).split(",");
+        assertEquals("11", second[0]);
+        int offset = Integer.parseInt(second[1]);
+        int length = Integer.parseInt(second[2]);
+        assertEquals("{\"n\":11}\n", gunzip(Arrays.copyOfRange(data, offset, offset + length)));
+        // whole segment is one gzip stream of members
+        assertEquals("{\"n\":10}\n{\"n\":11}\n", gunzip(data));
+    }
+
+    @Test
+    public void testRollAndResume() throws IOException {
+        Path dir = folder.getRoot().toPath();
+        SegmentWriter writer = new SegmentWriter(dir, 0, 1);
+        writer.write(0, "{\"n\":0}");
+        writer.write(1, "{\"n\":1}");
+        writer.checkpoint();
+        // each block starts a new segment, block 2 is lost by crash before checkpoint
+        writer.write(2, "{\"n\":2}");
+        assertEquals(2, writer.getSegment());
+        assertTrue(Files.size(dir.resolve("segment-000002.ndjson.gz")) > 0);
+
+        try (SegmentWriter resumed = new SegmentWriter(dir, 0, 1)) {
+            assertEquals(2, resumed.getNextBlock());
+            assertEquals(2, resumed.getSegment());
+            assertEquals(0, Files.size(dir.resolve("segment-000002.ndjson.gz")));
+            assertEquals(0, Files.size(dir.resolve("segment-000002.idx")));
+            resumed.write(2, "{\"n\":2}");
+        }
+        assertEquals("{\"n\":1}\n",
+            gunzip(Files.readAllBytes(dir.resolve("segment-000001.ndjson.gz"))));
+        assertEquals("{\"n\":2}\n",
+            gunzip(Files.readAllBytes(dir.resolve("segment-000002.ndjson.gz"))));
+        assertEquals("2,0,", Files.readAllLines(dir.resolve("segment-000002.idx")).get(0)
+            .substring(0, 4));
+    }
+
+    @Test
+    public void testFailedWriteNotCheckpointed() throws IOException {
+        Path dir = folder.getRoot().toPath();
+        SegmentWriter writer = new SegmentWriter(dir, 0, 1024);
+        writer.write(0, "{\"n\":0}");
+        writer.checkpoint();
+        long dataSize = Files.size(dir.resolve("segment-000000.ndjson.gz"));
+        // data member is written but its index line fails
+        ((FileChannel) ReflectionTestUtils.getField(writer, "indexChannel")).close();
+        try {
+            writer.write(1, "{\"n\":1}");
+            fail("write should fail");
+        } catch (IOException e) {
+            // expected
+        }
+        writer.close();
+        assertTrue(Files.size(dir.resolve("segment-000000.ndjson.gz")) > dataSize);
+
+        try (SegmentWriter resumed = new SegmentWriter(dir, 0, 1024)) {
+            assertEquals(1, resumed.getNextBlock());
+            assertEquals(dataSize, Files.size(dir.resolve("segment-000000.ndjson.gz")));
+        }
+    }
+
+    private static String gunzip(byte[] data) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[256];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                out.write(buffer, 0, n);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
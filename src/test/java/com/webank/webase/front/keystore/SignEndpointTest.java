@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.keystore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class SignEndpointTest {
+
+    @Test
+    public void testBreakerOpenAfterContinuousFailures() {
+        SignEndpoint endpoint = new SignEndpoint("127.0.0.1:5004", 3, 1000);
+        long now = 10000;
+        endpoint.onFailure(now);
+        endpoint.onFailure(now);
+        assertTrue(endpoint.tryAcquire(now));
+        endpoint.onFailure(now);
+        assertEquals(SignEndpoint.STATE_OPEN, endpoint.getState(now));
+        assertFalse(endpoint.tryAcquire(now + 999));
+
+        // only one probe request when half open
+        assertEquals(SignEndpoint.STATE_HALF_OPEN, endpoint.getState(now + 1000));
+        assertTrue(endpoint.tryAcquire(now + 1000));
+        assertFalse(endpoint.tryAcquire(now + 1000));
+
+        // probe fails, open again
+        endpoint.onFailure(now + 1000);
+        assertFalse(endpoint.tryAcquire(now + 1500));
+        assertTrue(endpoint.tryAcquire(now + 2000));
+
+        // probe succeeds, closed
+        endpoint.onSuccess(10);
+        assertEquals(SignEndpoint.STATE_CLOSED, endpoint.getState(now + 2000));
+        assertTrue(endpoint.tryAcquire(now + 2000));
+        assertEquals(5, endpoint.getRequestCount());
+        assertEquals(4, endpoint.getFailureCount());
+    }
+
+    @Test
+    public void testEwmaLatency() {
+        SignEndpoint endpoint = new SignEndpoint("127.0.0.1:5004", 3, 1000);
+        endpoint.onSuccess(100);
+        assertEquals(100, endpoint.getEwmaMillis(), 0.001);
+        endpoint.onSuccess(200);
+        assertEquals(120, endpoint.getEwmaMillis(), 0.001);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.webank.webase.front.base.enums.TransEndpoint;
+import com.webank.webase.front.base.enums.TransStage;
+import com.webank.webase.front.base.properties.Constants;
+import com.webank.webase.front.metrics.entity.TransLatencyMetrics;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.web3j.protocol.Web3j;
+import org.fisco.bcos.web3j.protocol.channel.ChannelEthereumService;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class TransMetricsTest {
+
+    @Test
+    public void testRecordByGroupEndpointAndStage() {
+        Map<Integer, Web3j> web3jMap = new ConcurrentHashMap<>();
+        web3jMap.put(1, Web3j.build(new ChannelEthereumService(), 1));
+        web3jMap.put(2, Web3j.build(new ChannelEthereumService(), 2));
+        TransMetrics transMetrics = new TransMetrics();
+        ReflectionTestUtils.setField(transMetrics, "web3jMap", web3jMap);
+        ReflectionTestUtils.setField(transMetrics, "constants", new Constants());
+        transMetrics.init();
+        long now = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            transMetrics.record(1, TransEndpoint.HANDLE_WITH_SIGN, TransStage.SIGN,
+                now - TimeUnit.MILLISECONDS.toNanos(20));
+        }
+        transMetrics.record(2, TransEndpoint.DEPLOY_WITH_SIGN, TransStage.NODE, now);
+        // group not loaded is not recorded
+        transMetrics.record(3, TransEndpoint.HANDLE, TransStage.ABI_BUILD, now);
+        List<TransLatencyMetrics> metricsList = transMetrics.getMetrics();
+        assertEquals(2, metricsList.size());
+
+        TransLatencyMetrics sign = metricsList.stream().filter(m -> m.getGroupId() == 1)
+            .findFirst().get();
+        assertEquals("HANDLE_WITH_SIGN", sign.getEndpoint());
+        assertEquals("SIGN", sign.getStage());
+        assertEquals(100, sign.getCount());
+        assertTrue(sign.getP50() >= 19 && sign.getP50() < 1000);
+
+        // histograms are cumulative across reads
+        transMetrics.record(1, TransEndpoint.HANDLE_WITH_SIGN, TransStage.SIGN, now);
+        sign = transMetrics.getMetrics().stream().filter(m -> m.getGroupId() == 1)
+            .findFirst().get();
+        assertEquals(101, sign.getCount());
+
+        // stages never recorded have no histogram
+        assertEquals(1, Arrays.stream(transMetrics.snapshot(2)).filter(Objects::nonNull).count());
+
+        transMetrics.remove(2);
+        assertEquals(1, transMetrics.getMetrics().size());
+    }
+}
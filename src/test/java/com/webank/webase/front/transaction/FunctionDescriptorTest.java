@@ -0,0 +1,53 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.transaction;
+
+import static org.junit.Assert.assertEquals;
+
+import com.webank.webase.front.transaction.entity.FunctionDescriptor;
+import com.webank.webase.front.util.AbiUtil;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.fisco.bcos.web3j.abi.FunctionEncoder;
+import org.fisco.bcos.web3j.abi.TypeReference;
+import org.fisco.bcos.web3j.abi.datatypes.Function;
+import org.fisco.bcos.web3j.abi.datatypes.Type;
+import org.junit.Test;
+
+public class FunctionDescriptorTest {
+
+    @Test
+    public void testEncodeSameAsFunctionEncoder() {
+        List<String> inputTypes = Arrays.asList("uint256", "string", "address[]", "bool");
+        List<Object> params = Arrays.asList(100, "hello",
+            Arrays.asList("0x1d2c8d3f3a4f0e5a1c2b3a4d5e6f708192a3b4c5",
+                "0x0000000000000000000000000000000000000001"),
+            true);
+        FunctionDescriptor descriptor = new FunctionDescriptor("set", false, inputTypes,
+            AbiUtil.getInputClasses(inputTypes), Collections.emptyList(), new ArrayList<>());
+
+        List<Type> finalInputs = AbiUtil.inputFormat(inputTypes, params);
+        List<TypeReference<?>> finalOutputs = new ArrayList<>();
+        String expected = FunctionEncoder.encode(new Function("set", finalInputs, finalOutputs));
+        // first encode resolves methodId, second uses the cached one
+        assertEquals(expected, descriptor.encode(
+            AbiUtil.inputFormat(inputTypes, descriptor.getInputClasses(), params)));
+        assertEquals(expected, descriptor.encode(
+            AbiUtil.inputFormat(inputTypes, descriptor.getInputClasses(), params)));
+    }
+}
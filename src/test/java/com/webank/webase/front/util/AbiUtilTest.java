@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import org.fisco.bcos.web3j.abi.FunctionEncoder;
+import org.fisco.bcos.web3j.abi.FunctionReturnDecoder;
+import org.fisco.bcos.web3j.abi.datatypes.Function;
+import org.fisco.bcos.web3j.abi.datatypes.Type;
+import org.junit.Test;
+
+/**
+ * callResultParse must return the same values as the former json round trip.
+ */
+public class AbiUtilTest {
+
+    @Test
+    public void testCallResultParseSameAsJsonRoundTrip() {
+        List<String> types = Arrays.asList("uint256", "int256", "uint256[]", "int64", "string",
+            "address[]", "bool", "bytes32", "bytes", "uint8");
+        List<Object> params = Arrays.asList(
+            new BigInteger("2").pow(255),
+            new BigInteger("-9223372036854775809"),
+            Arrays.asList(0, Integer.MAX_VALUE, 2147483648L, Long.MAX_VALUE,
+                new BigInteger("9223372036854775808")),
+            Integer.MIN_VALUE,
+            "hello \"abi\" 中文",
+            Arrays.asList("0x1d2c8d3f3a4f0e5a1c2b3a4d5e6f708192a3b4c5",
+                "0x0000000000000000000000000000000000000001"),
+            true,
+            "0x0102030405060708091011121314151617181920212223242526272829303132",
+            "0x00ff10",
+            255);
+        List<Type> inputs = AbiUtil.inputFormat(types, params);
+        Function function = new Function("get", inputs, AbiUtil.outputFormat(types));
+        List<Type> typeList = FunctionReturnDecoder.decode(FunctionEncoder.encodeConstructor(inputs),
+            function.getOutputParameters());
+
+        Object result = AbiUtil.callResultParse(types, typeList);
+        Object expected = JsonUtils.toJavaObject(JsonUtils.toJSONString(result), Object.class);
+        assertEquals(expected, result);
+        assertEquals(JsonUtils.toJSONString(expected), JsonUtils.toJSONString(result));
+    }
+
+    @Test
+    public void testNormalizeValue() {
+        assertEquals(Integer.MIN_VALUE, AbiUtil.normalizeValue(BigInteger.valueOf(Integer.MIN_VALUE)));
+        assertEquals(2147483648L, AbiUtil.normalizeValue(BigInteger.valueOf(2147483648L)));
+        assertEquals(Long.MIN_VALUE, AbiUtil.normalizeValue(BigInteger.valueOf(Long.MIN_VALUE)));
+        BigInteger big = BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE);
+        assertEquals(big, AbiUtil.normalizeValue(big));
+        assertEquals("0x01", AbiUtil.normalizeValue("0x01"));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import com.webank.webase.front.base.exception.FrontException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class SingleFlightTest {
+
+    @Test
+    public void testConcurrentCallsMerged() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(pool.submit(() -> singleFlight.execute("key", 60000, () -> {
+                started.countDown();
+                await(release);
+                return calls.incrementAndGet();
+            })));
+            started.await();
+            for (int i = 0; i < 7; i++) {
+                results.add(pool.submit(() -> singleFlight.execute("key", 60000,
+                    calls::incrementAndGet)));
+            }
+            // late waiters share the result in fresh window
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(1, result.get(5, TimeUnit.SECONDS).intValue());
+            }
+            assertEquals(1, calls.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFreshWindow() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        assertEquals(1, singleFlight.execute("key", 200, calls::incrementAndGet).intValue());
+        assertEquals(1, singleFlight.execute("key", 200, calls::incrementAndGet).intValue());
+        assertEquals(2, singleFlight.execute("other", 200, calls::incrementAndGet).intValue());
+        Thread.sleep(250);
+        assertEquals(3, singleFlight.execute("key", 200, calls::incrementAndGet).intValue());
+    }
+
+    @Test
+    public void testFailureNotShared() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        try {
+            singleFlight.execute("key", 1000, () -> {
+                throw new FrontException("node error");
+            });
+            fail();
+        } catch (FrontException e) {
+            assertEquals("node error", e.getMessage());
+        }
+        assertEquals(1, singleFlight.execute("key", 1000, () -> 1).intValue());
+    }
+
+    @Test
+    public void testNotKeptWithoutFreshWindow() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        assertEquals(1, singleFlight.execute("key", 0, calls::incrementAndGet).intValue());
+        assertEquals(0, singleFlight.size());
+        assertEquals(2, singleFlight.execute("key", 0, calls::incrementAndGet).intValue());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.web3api;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+
+public class RoutingEthereumServiceTest {
+
+    private static NodeEndpoint endpoint(String address) {
+        return new NodeEndpoint(address, null, null, 1, 60000);
+    }
+
+    @Test
+    public void testReadToLeastLatency() {
+        NodeEndpoint slow = endpoint("127.0.0.1:20200");
+        NodeEndpoint fast = endpoint("127.0.0.1:20201");
+        slow.onSuccess(50);
+        fast.onSuccess(5);
+        RoutingEthereumService service =
+            new RoutingEthereumService(1, Arrays.asList(slow, fast), 10);
+        assertSame(fast, service.choose(false, null));
+        // busy node is weighted by requests in flight
+        for (int i = 0; i < 20; i++) {
+            fast.onStart();
+        }
+        assertSame(slow, service.choose(false, null));
+    }
+
+    @Test
+    public void testWriteToFirstAvailable() {
+        NodeEndpoint sealer = endpoint("127.0.0.1:20200");
+        NodeEndpoint other = endpoint("127.0.0.1:20201");
+        sealer.onSuccess(50);
+        other.onSuccess(5);
+        RoutingEthereumService service =
+            new RoutingEthereumService(1, Arrays.asList(sealer, other), 10);
+        assertSame(sealer, service.choose(true, null));
+        assertSame(other, service.choose(true, sealer));
+
+        sealer.onFailure(System.currentTimeMillis());
+        assertSame(other, service.choose(true, null));
+    }
+
+    @Test
+    public void testSkipLaggingNode() {
+        NodeEndpoint lagging = endpoint("127.0.0.1:20200");
+        NodeEndpoint synced = endpoint("127.0.0.1:20201");
+        lagging.setBlockNumber(100);
+        synced.setBlockNumber(200);
+        RoutingEthereumService service =
+            new RoutingEthereumService(1, Arrays.asList(lagging, synced), 10);
+        assertSame(synced, service.choose(true, null));
+        // lagging node is still used when no other node
+        assertSame(lagging, service.choose(true, synced));
+    }
+
+    @Test
+    public void testNoOtherNode() {
+        NodeEndpoint only = endpoint("127.0.0.1:20200");
+        RoutingEthereumService service =
+            new RoutingEthereumService(1, Collections.singletonList(only), 10);
+        only.onFailure(System.currentTimeMillis());
+        assertSame(only, service.choose(false, null));
+        assertNull(service.choose(false, only));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webank.webase.front.web3api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.webank.webase.front.base.properties.Constants;
+import java.math.BigInteger;
+import java.util.Collections;
+import org.fisco.bcos.web3j.protocol.core.methods.response.BcosBlock;
+import org.fisco.bcos.web3j.protocol.core.methods.response.BcosBlock.TransactionObject;
+import org.fisco.bcos.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class Web3CacheTest {
+
+    private Web3Cache web3Cache;
+
+    @Before
+    public void setUp() {
+        web3Cache = new Web3Cache();
+        ReflectionTestUtils.setField(web3Cache, "constants", new Constants());
+        web3Cache.init();
+    }
+
+    @Test
+    public void testBlockIndexes() {
+        TransactionObject transaction = new TransactionObject();
+        transaction.setHash("0xAB01");
+        transaction.setBlockHash("0xcd02");
+        transaction.setBlockNumber("0x10");
+        BcosBlock.Block block = new BcosBlock.Block();
+        block.setNumber("0x10");
+        block.setHash("0xcd02");
+        block.setTransactions(Collections.singletonList(transaction));
+        web3Cache.putBlock(1, block);
+
+        assertSame(block, web3Cache.getBlockByNumber(1, BigInteger.valueOf(16)));
+        assertSame(block, web3Cache.getBlockByHash(1, "0xCD02"));
+        assertNull(web3Cache.getBlockByNumber(2, BigInteger.valueOf(16)));
+        assertSame(transaction, web3Cache.getTransactionByHash(1, "0xab01"));
+        assertSame(transaction,
+            web3Cache.getTransByBlockNumberAndIndex(1, BigInteger.valueOf(16), BigInteger.ZERO));
+        assertSame(transaction,
+            web3Cache.getTransByBlockHashAndIndex(1, "0xcd02", BigInteger.ZERO));
+        assertNull(
+            web3Cache.getTransByBlockNumberAndIndex(1, BigInteger.valueOf(16), BigInteger.ONE));
+        assertEquals(1, web3Cache.stats().missCount());
+    }
+
+    @Test
+    public void testReceiptNotInBlockIgnored() {
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setTransactionHash("0xab01");
+        web3Cache.putTransactionReceipt(1, receipt);
+        assertNull(web3Cache.getTransactionReceipt(1, "0xab01"));
+
+        receipt.setBlockNumber("0x10");
+        web3Cache.putTransactionReceipt(1, receipt);
+        assertSame(receipt, web3Cache.getTransactionReceipt(1, "0xab01"));
+    }
+}